@@ -0,0 +1,124 @@
+import jdk.jfr.*;
+
+/**
+ * Records the events of a search as Java Flight Recorder events.
+ * <p>
+ * It's kept out of src, since jdk.jfr is only available on JDK 8u262 or later and is not part of the
+ * Java 8 platform API: compile it on its own, with the classes of src in the classpath.
+ * {@link SearchTelemetry} loads it only if both the sink and jdk.jfr are found at runtime.
+ */
+public class JfrSearchEventSink implements SearchEventSink {
+
+    /*
+     * The batch being timed
+     */
+    private ExpansionBatch batch;
+
+    @Override
+    public void batchStarted() {
+        batch = new ExpansionBatch();
+        batch.begin();
+    }
+
+    @Override
+    public void batchEnded(String solver, int explored, int generated, int pruned, int duplicates) {
+        batch.end();
+        if (batch.shouldCommit()) {
+            batch.solver = solver;
+            batch.exploredNodes = explored;
+            batch.generatedNodes = generated;
+            batch.prunedNodes = pruned;
+            batch.duplicateNodes = duplicates;
+            batch.duplicateRate = generated == 0 ? 0 : (double) duplicates / generated;
+            batch.commit();
+        }
+    }
+
+    @Override
+    public void fringeSampled(String solver, int fringeSize, double lowestCost, double bound) {
+        FringeSample sample = new FringeSample();
+        if (sample.shouldCommit()) {
+            sample.solver = solver;
+            sample.fringeSize = fringeSize;
+            sample.lowestCost = lowestCost;
+            sample.bound = bound;
+            sample.commit();
+        }
+    }
+
+    @Override
+    public void boundImproved(String solver, double previousBound, double bound, long exploredNodes) {
+        BoundImprovement event = new BoundImprovement();
+        if (event.shouldCommit()) {
+            event.solver = solver;
+            event.previousBound = previousBound;
+            event.bound = bound;
+            event.exploredNodes = exploredNodes;
+            event.commit();
+        }
+    }
+
+    @Name("BranchAndBound.ExpansionBatch")
+    @Label("Expansion Batch")
+    @Category("Branch and Bound")
+    @Description("A batch of nodes explored by a solver")
+    static class ExpansionBatch extends Event {
+        @Label("Solver")
+        String solver;
+
+        @Label("Explored Nodes")
+        int exploredNodes;
+
+        @Label("Generated Nodes")
+        int generatedNodes;
+
+        @Label("Pruned Nodes")
+        @Description("Generated nodes discarded because of the bound")
+        int prunedNodes;
+
+        @Label("Duplicate Nodes")
+        @Description("Generated nodes discarded because their state had already been visited")
+        int duplicateNodes;
+
+        @Label("Duplicate Rate")
+        @Percentage
+        double duplicateRate;
+    }
+
+    @Name("BranchAndBound.FringeSample")
+    @Label("Fringe Sample")
+    @Category("Branch and Bound")
+    @Description("The state of the fringe at the end of an expansion batch")
+    static class FringeSample extends Event {
+        @Label("Solver")
+        String solver;
+
+        @Label("Fringe Size")
+        int fringeSize;
+
+        @Label("Lowest Cost")
+        @Description("The path cost of the cheapest node in the fringe")
+        double lowestCost;
+
+        @Label("Bound")
+        double bound;
+    }
+
+    @Name("BranchAndBound.BoundImprovement")
+    @Label("Bound Improvement")
+    @Category("Branch and Bound")
+    @Description("A better solution has been found")
+    static class BoundImprovement extends Event {
+        @Label("Solver")
+        String solver;
+
+        @Label("Previous Bound")
+        double previousBound;
+
+        @Label("Bound")
+        double bound;
+
+        @Label("Explored Nodes")
+        long exploredNodes;
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Solver that runs a {@link BeamSolver} with wider and wider beams, doubling the width at each run,
+ * until the maximum width is reached or the time limit expires.
+ * Each run only looks for solutions cheaper than the best one found so far, which is used as its bound:
+ * the wider beams prune more and more, and the solution can only improve.
+ * <p>
+ * The time limit is checked between the runs, so the last run may end after it.
+ * When running in parallel, the problem must support concurrent calls to expand, pathCost and heuristic.
+ */
+public class AnytimeBeamSolver implements Solver {
+
+    /*
+     * Width of the beam of the first run
+     */
+    private final int initialWidth;
+
+    /*
+     * Width of the beam of the last run
+     */
+    private final int maxWidth;
+
+    /*
+     * Weight of the heuristic in the ranking of the nodes
+     */
+    private final double weight;
+
+    /*
+     * True if the nodes of a layer are expanded in parallel
+     */
+    private final boolean parallel;
+
+    /*
+     * Time after which no run is started, in milliseconds. 0 means no limit.
+     */
+    private final long timeLimit;
+
+    private int exploredNodes = 0;
+
+    /**
+     * Constructor for a sequential anytime beam solver, ranking the nodes by pathCost + heuristic, without time limit.
+     *
+     * @param initialWidth Width of the beam of the first run
+     * @param maxWidth     Width of the beam of the last run
+     */
+    public AnytimeBeamSolver(int initialWidth, int maxWidth) {
+        this(initialWidth, maxWidth, 1, false, 0);
+    }
+
+    /**
+     * Constructor for an anytime beam solver.
+     *
+     * @param initialWidth Width of the beam of the first run
+     * @param maxWidth     Width of the beam of the last run
+     * @param weight       Weight of the heuristic in the ranking of the nodes
+     * @param parallel     True to expand the nodes of each layer in parallel
+     * @param timeLimit    Time after which no run is started, in milliseconds, 0 for no limit
+     */
+    public AnytimeBeamSolver(int initialWidth, int maxWidth, double weight, boolean parallel, long timeLimit) {
+        if (initialWidth < 1 || maxWidth < initialWidth) {
+            throw new IllegalArgumentException("The widths of the beam must be positive and increasing");
+        }
+        if (timeLimit < 0) {
+            throw new IllegalArgumentException("The time limit must not be negative");
+        }
+
+        this.initialWidth = initialWidth;
+        this.maxWidth = maxWidth;
+        this.weight = weight;
+        this.parallel = parallel;
+        this.timeLimit = timeLimit;
+    }
+
+    @Override
+    public <A, S> Node<A, S> solve(Problem<A, S> problem) {
+        long deadline = System.nanoTime() + timeLimit * 1000000;
+        Node<A, S> bestSolution = null;
+
+        for (int width = initialWidth; ; width = (int) Math.min(2L * width, maxWidth)) {
+            BeamSolver beam = new BeamSolver(width, weight, parallel);
+            Node<A, S> solution = beam.solve(problem, bestSolution);
+            exploredNodes += beam.getExploredNodes();
+
+            if (solution.getPathCost() != Double.POSITIVE_INFINITY) {
+                bestSolution = solution;
+            }
+
+            if (width == maxWidth || timeLimit > 0 && System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+
+        if (bestSolution == null) {
+            // Path not found, return infinity cost
+            return new Node<>(problem.getInitialState(), null, null, Double.POSITIVE_INFINITY);
+        } else {
+            return bestSolution;
+        }
+    }
+
+    @Override
+    public int getExploredNodes() {
+        return exploredNodes;
+    }
+}
@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Solver that explores the graph one layer at a time, keeping only the most promising nodes of each layer.
+ * The nodes are ranked by pathCost + weight * heuristic, and at most *width* of them are expanded in each layer,
+ * so the time needed grows with the width of the beam times the depth of the search.
+ * So does the memory: the nodes of a layer keep their paths alive, and the states admitted in every layer are
+ * remembered, at most *width* per layer, to avoid visiting them again.
+ * <p>
+ * The search goes on after the first goal is found, and returns the cheapest goal met in any layer:
+ * this makes it suitable to find a tight initial bound for a {@link BranchAndBound}.
+ * See {@link AnytimeBeamSolver} to improve the bound with wider and wider beams.
+ * When running in parallel, the problem must support concurrent calls to expand, pathCost and heuristic.
+ */
+public class BeamSolver implements Solver {
+
+    /*
+     * Maximum number of nodes kept in each layer
+     */
+    private final int width;
+
+    /*
+     * Weight of the heuristic in the ranking of the nodes
+     */
+    private final double weight;
+
+    /*
+     * True if the nodes of a layer are expanded in parallel
+     */
+    private final boolean parallel;
+
+    private int exploredNodes = 0;
+
+    /**
+     * Constructor for a sequential beam solver, ranking the nodes by pathCost + heuristic.
+     *
+     * @param width Maximum number of nodes kept in each layer
+     */
+    public BeamSolver(int width) {
+        this(width, 1, false);
+    }
+
+    /**
+     * Constructor for a beam solver.
+     *
+     * @param width    Maximum number of nodes kept in each layer
+     * @param weight   Weight of the heuristic in the ranking of the nodes
+     * @param parallel True to expand the nodes of each layer in parallel
+     */
+    public BeamSolver(int width, double weight, boolean parallel) {
+        if (width < 1) {
+            throw new IllegalArgumentException("The width of the beam must be positive");
+        }
+
+        this.width = width;
+        this.weight = weight;
+        this.parallel = parallel;
+    }
+
+    @Override
+    public <A, S> Node<A, S> solve(Problem<A, S> problem) {
+        return solve(problem, null);
+    }
+
+    /**
+     * Search a solution cheaper than a known one. The nodes whose path cost plus heuristic
+     * is not lower than the cost of the known solution are discarded.
+     *
+     * @param problem   The problem that must be solved
+     * @param incumbent The best solution known, or null
+     * @param <A>       Action type
+     * @param <S>       State type
+     * @return The cheapest solution found, the incumbent if none is cheaper, or a node with infinite cost
+     */
+    <A, S> Node<A, S> solve(Problem<A, S> problem, Node<A, S> incumbent) {
+        Node<A, S> bestSolution = incumbent;
+        double bound = incumbent == null ? Double.POSITIVE_INFINITY : incumbent.getPathCost();
+
+        ClosedSet<A, S> closed = new ClosedSet<>(problem, false);
+        List<Node<A, S>> layer = new ArrayList<>();
+
+        Node<A, S> root = Node.root(problem);
+        closed.add(root);
+        layer.add(root);
+
+        while (!layer.isEmpty()) {
+            exploredNodes += layer.size();
+
+            // Goals are not expanded, the path cost can only grow.
+            List<Node<A, S>> expandable = new ArrayList<>(layer.size());
+            for (Node<A, S> node : layer) {
+                if (!problem.isGoal(node.getState())) {
+                    expandable.add(node);
+                } else if (node.getPathCost() < bound) {
+                    bestSolution = node;
+                    bound = node.getPathCost();
+                }
+            }
+
+            // Expand the layer and rank the children. The order of the result does not depend on
+            // the scheduling of the threads, so the search is deterministic.
+            final double currentBound = bound;
+            List<Pair<Double, Node<A, S>>> candidates = stream(expandable)
+                    .flatMap(node -> Stream.of(node.expand(problem)))
+                    .map(n -> new Pair<>(n, problem.heuristic(n.getState())))
+                    .filter(c -> c.x.getPathCost() + c.y < currentBound)
+                    .map(c -> new Pair<>(c.x.getPathCost() + weight * c.y, c.x))
+                    .collect(Collectors.toList());
+
+            candidates.sort(Comparator.<Pair<Double, Node<A, S>>>comparingDouble(c -> c.x)
+                    .thenComparing(c -> c.y));
+
+            // Keep the best *width* children that have not been visited yet
+            layer = new ArrayList<>(Math.min(width, candidates.size()));
+            for (Pair<Double, Node<A, S>> c : candidates) {
+                if (layer.size() == width) {
+                    break;
+                }
+                if (closed.add(c.y)) {
+                    layer.add(c.y);
+                }
+            }
+        }
+
+        if (bestSolution == null) {
+            // Path not found, return infinity cost
+            return new Node<>(problem.getInitialState(), null, null, Double.POSITIVE_INFINITY);
+        } else {
+            return bestSolution;
+        }
+    }
+
+    private <T> Stream<T> stream(List<T> list) {
+        return parallel ? list.parallelStream() : list.stream();
+    }
+
+    @Override
+    public int getExploredNodes() {
+        return exploredNodes;
+    }
+}
@@ -0,0 +1,136 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Throughput scenarios over the problem library: every solving strategy is run on seeded instances of
+ * each problem, reporting the cost found, the number of explored nodes and the time needed.
+ * Each scenario is run a few times first to warm up the JIT, then timed over several runs.
+ * Every optimizer must report the same cost on an instance: an IllegalStateException is thrown otherwise.
+ * The known regressions are checked by RegressionChecks.
+ * <p>
+ * Usage: java Benchmark [tsp|knapsack|jobshop file]
+ * Without arguments, the generated corpus is used. With arguments, a single instance is loaded from file.
+ */
+public class Benchmark {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+    private static final long[] SEEDS = {1, 2, 3};
+
+    public static void main(String[] args) throws IOException {
+
+        System.out.format("%-28s %-34s %12s %14s %12s %14s\n",
+                "instance",
+                "solving_strategy",
+                "cost",
+                "explored_nodes",
+                "time_ms",
+                "nodes_per_sec");
+
+        System.out.println("");
+
+        if (args.length == 2) {
+            File file = new File(args[1]);
+            switch (args[0]) {
+                case "tsp":
+                    run(file.getName(), TSPProblem.load(file));
+                    break;
+                case "knapsack":
+                    run(file.getName(), KnapsackProblem.load(file));
+                    break;
+                case "jobshop":
+                    run(file.getName(), JobShopProblem.load(file));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown problem: " + args[0]);
+            }
+            return;
+        }
+
+        for (long seed : SEEDS) {
+            run("atsp-12 seed " + seed, TSPProblem.random(12, seed));
+        }
+        for (long seed : SEEDS) {
+            run("knapsack-30 seed " + seed, KnapsackProblem.random(30, seed));
+        }
+        for (long seed : SEEDS) {
+            run("jobshop-5x5 seed " + seed, JobShopProblem.random(5, 5, seed));
+        }
+    }
+
+    private static <A, S> void run(String instance, Problem<A, S> problem) {
+        Scenario[] scenarios = {
+                new Scenario("BeamSolver(16)", () -> new BeamSolver(16)),
+                new Scenario("BranchAndBound", () -> new BranchAndBound(problem)),
+                new Scenario("BranchAndBound+Beam(16)", () -> new BranchAndBound(problem, new BeamSolver(16))),
+                new Scenario("BranchAndBound+AnytimeBeam(4-64)",
+                        () -> new BranchAndBound(problem, new AnytimeBeamSolver(4, 64))),
+                new Scenario("BranchAndBound+Beam(16) frontier", () -> {
+                    BranchAndBound solver = new BranchAndBound(problem, new BeamSolver(16));
+                    solver.setFrontierSearch(true);
+                    return solver;
+                }),
+                new Scenario("BranchAndBound+Beam(16) parallel", () -> {
+                    BranchAndBound solver = new BranchAndBound(problem, new BeamSolver(16, 1, true));
+                    solver.setParallelExpansion(64, ForkJoinPool.commonPool());
+                    return solver;
+                }),
+                new Scenario("BestFirstSolver", BestFirstSolver::new)
+        };
+
+        // The cost found by the optimizers, that must all agree
+        Double optimum = null;
+
+        for (Scenario scenario : scenarios) {
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                scenario.solver.get().solve(problem);
+            }
+
+            long elapsed = 0;
+            long explored = 0;
+            Node<A, S> solution = null;
+            Solver solver = null;
+
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long start = System.nanoTime();
+                // Constructing the solver is timed too, since it may search for the initial bound
+                solver = scenario.solver.get();
+                solution = solver.solve(problem);
+                elapsed += System.nanoTime() - start;
+                explored += solver.getExploredNodes();
+            }
+
+            if (solver instanceof Optimizer) {
+                if (optimum == null) {
+                    optimum = solution.getPathCost();
+                } else if (optimum != solution.getPathCost()) {
+                    throw new IllegalStateException(instance + ": " + scenario.name + " found cost "
+                            + solution.getPathCost() + " instead of " + optimum);
+                }
+            }
+
+            double ms = elapsed / 1e6 / MEASURED_RUNS;
+            System.out.format("%-28s %-34s %12.2f %14d %12.2f %14.0f\n",
+                    instance,
+                    scenario.name,
+                    solution.getPathCost(),
+                    explored / MEASURED_RUNS,
+                    ms,
+                    explored / (elapsed / 1e9));
+        }
+
+        System.out.println("");
+    }
+
+    private static class Scenario {
+        final String name;
+        final Supplier<Solver> solver;
+
+        Scenario(String name, Supplier<Solver> solver) {
+            this.name = name;
+            this.solver = solver;
+        }
+    }
+}
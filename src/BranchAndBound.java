@@ -1,4 +1,7 @@
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 
 public class BranchAndBound implements Optimizer {
@@ -28,6 +31,26 @@ public class BranchAndBound implements Optimizer {
      */
     Node localSolution = null;
 
+    /*
+     * True if the progress of the search is exposed through JMX
+     */
+    private boolean monitored = false;
+
+    /*
+     * True if the closed list is not kept, see setFrontierSearch
+     */
+    private boolean frontierSearch = false;
+
+    /*
+     * Maximum number of nodes expanded together, see setParallelExpansion
+     */
+    private int batchSize = 1;
+
+    /*
+     * The workers expanding the nodes of a batch, null if they are expanded by the solving thread
+     */
+    private ExecutorService executor = null;
+
 
     /**
      * Constructor for a branch and bound optimizer.
@@ -91,6 +114,56 @@ public class BranchAndBound implements Optimizer {
     }
 
 
+    /**
+     * Expose the progress of the search through a SolveProgressMBean, registered in the platform
+     * MBean server while solve is running. Flight Recorder events are emitted regardless,
+     * if the Flight Recorder sink is available, see SearchTelemetry.
+     *
+     * @param monitored True to register the MBean
+     */
+    public void setMonitored(boolean monitored) {
+        this.monitored = monitored;
+    }
+
+    /**
+     * Enable the frontier search mode, in which the visited nodes are not remembered.
+     * The search is layered by depth: the nodes at a depth are all explored, in order of path cost,
+     * before the next depth. Duplicate states are only detected in three layers, the one being explored,
+     * the one before and the one being generated, keeping the cheapest node of each state, see FrontierLayers.
+     * The nodes don't keep their whole path alive either, only the ancestors at a depth that is
+     * a power of two, called relays: the path of the solution is rebuilt at the end, by searching again between
+     * each pair of consecutive relays.
+     * So memory grows with the width of the layers, times the logarithm of the depth, instead of the number of
+     * explored nodes, at the price of exploring some nodes again.
+     * When an action can't be undone, a state may be explored more than once, so termination relies on the bound:
+     * the frontier search requires a finite initial bound, and a problem without cycles of zero cost.
+     *
+     * @param frontierSearch True to drop the closed list
+     */
+    public void setFrontierSearch(boolean frontierSearch) {
+        this.frontierSearch = frontierSearch;
+    }
+
+    /**
+     * Expand the nodes in parallel: up to batchSize nodes are removed from the fringe at once, and their
+     * children, with their path costs and heuristics, are computed by the executor. The children are added
+     * to the fringe in the same order as if the nodes had been expanded one at a time, and each one is checked
+     * against the bound when it's added. The problem must support concurrent calls to expand, pathCost
+     * and heuristic.
+     * The executor is not shut down by the optimizer.
+     *
+     * @param batchSize The maximum number of nodes expanded together
+     * @param executor  The workers expanding the nodes
+     */
+    public void setParallelExpansion(int batchSize, ExecutorService executor) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive");
+        }
+
+        this.batchSize = batchSize;
+        this.executor = executor;
+    }
+
     /**
      * Method used to solve the problem
      *
@@ -107,7 +180,12 @@ public class BranchAndBound implements Optimizer {
             return new Node<>(problem.getInitialState(), null, null, Double.POSITIVE_INFINITY);
         }
 
-        // Open list, keeps track of the nodes that need to be explored
+        if (frontierSearch && bound == Double.POSITIVE_INFINITY) {
+            throw new IllegalStateException("The frontier search requires a finite initial bound");
+        }
+
+        // Open list, keeps track of the nodes that need to be explored.
+        // In frontier search mode, it only holds the layer being explored.
         Queue<Node<A, S>> fringe = new PriorityQueue<>();
 
         // Current node being explored.
@@ -116,53 +194,290 @@ public class BranchAndBound implements Optimizer {
         // The current best solution found.
         Node<A, S> bestSolution = (Node<A, S>) localSolution;
 
-        // The states of the nodes in the graph that have already been visited.
-        Set<Node<A, S>> closed = new HashSet<>();
+        // The states that have already been visited, with the cheapest cost each one was visited with.
+        // In frontier search mode, it's replaced by the cheapest node of each state in the last layers.
+        Node<A, S> root = Node.root(problem);
+        ClosedSet<A, S> closed = frontierSearch ? null : new ClosedSet<>(problem, true);
+        FrontierLayers<A, S> layers = frontierSearch ? new FrontierLayers<>(problem, root, false) : null;
+        fringe.add(root);
 
-        fringe.add(new Node(problem.getInitialState()));
+        // Nodes popped from the fringe that must be expanded
+        List<Node<A, S>> batch = new ArrayList<>(batchSize);
 
-        while (!fringe.isEmpty()) {
+        try (SearchTelemetry telemetry = new SearchTelemetry("BranchAndBound", bound, monitored)) {
+            while (!fringe.isEmpty()) {
 
+                // Explore up to batchSize nodes from the list.
+                // Increment the number of explored nodes.
+                batch.clear();
+                while (batch.size() < batchSize && !fringe.isEmpty()) {
+                    currentNode = fringe.remove();
+                    if (closed != null && closed.contains(currentNode)) {
+                        // The state has been visited through a path that is not more expensive
+                        continue;
+                    }
+                    exploredNodes++;
+                    telemetry.explored(fringe.size() + (layers != null ? layers.nextSize() : 0), fringe.peek(), bound);
 
-            // Explore first node in the list, and set it as visited.
-            // Increment the number of explored nodes.
-            currentNode = fringe.remove();
-            closed.add(currentNode);
-            exploredNodes++;
+                    if (currentNode.getPathCost() < bound && !problem.isGoal(currentNode.getState())) {
+                        // Set as visited when its children are added, see below
+                        batch.add(currentNode);
+                        continue;
+                    }
 
-            // Skip if over bound!
-            if (currentNode.getPathCost() >= bound) {
-                continue;
-            }
+                    if (closed != null) {
+                        closed.add(currentNode);
+                    }
 
-            if (problem.isGoal(currentNode.getState())) {
-                // If current node is goal, update local best solution solution and lower bound
-                // A cost check is made, because the bound may have changed after the nodes had
-                // been added to the open list.
-                double currentCost = currentNode.getPathCost();
-                if (currentCost < bound) {
+                    // Skip if over bound!
+                    if (currentNode.getPathCost() >= bound) {
+                        continue;
+                    }
+
+                    // If current node is goal, update local best solution solution and lower bound
+                    // A cost check is made, because the bound may have changed after the nodes had
+                    // been added to the open list.
+                    double currentCost = currentNode.getPathCost();
+                    telemetry.boundImproved(bound, currentCost);
                     bestSolution = currentNode;
                     bound = currentCost;
                 }
 
-            } else {
                 //Branch
-                for (Node<A, S> n : currentNode.expand(problem)) {
-                    //Bound
-                    if (n.getPathCost() < bound && !closed.contains(n)) {
-                        fringe.add(n);
+                List<Pair<Node<A, S>[], double[]>> children = expand(batch, problem);
+
+                // Merge the children in the order the nodes were popped, so the search is deterministic.
+                // Each node is set as visited just before its own children are checked, as if the nodes
+                // had been explored one at a time. The closed set compares the path costs, so a cheaper
+                // path found later in the batch to an already visited state is still explored.
+                for (int i = 0; i < batch.size(); i++) {
+                    if (closed != null) {
+                        closed.add(batch.get(i));
+                    }
+
+                    // In frontier search mode, the children only keep the relays of their path alive
+                    boolean relay = closed != null || isRelay(batch.get(i).getDepth());
+
+                    Node<A, S>[] nodes = children.get(i).x;
+                    double[] lowerBounds = children.get(i).y;
+
+                    for (int j = 0; j < nodes.length; j++) {
+                        Node<A, S> n = nodes[j];
+                        telemetry.generated();
+
+                        //Bound, using the heuristic of the problem as a lower bound of the remaining cost.
+                        //The bound may have improved since the batch was popped.
+                        if (lowerBounds[j] >= bound) {
+                            telemetry.pruned();
+                        } else if (closed != null ? closed.contains(n) : !layers.offer(n)) {
+                            telemetry.duplicate();
+                        } else if (closed != null) {
+                            fringe.add(n);
+                        } else if (!relay) {
+                            // Added to the next layer
+                            n.skipParent();
+                        }
                     }
                 }
+
+                // In frontier search mode, explore the next layer once the current one is over
+                if (fringe.isEmpty() && layers != null) {
+                    layers.advance();
+                    fringe.addAll(layers.current());
+                }
             }
         }
 
         if (bestSolution == null || bound == Double.POSITIVE_INFINITY) {
             return new Node<>(problem.getInitialState(), null, null, Double.POSITIVE_INFINITY);
+        } else if (frontierSearch && bestSolution != localSolution) {
+            return rebuildPath(problem, bestSolution);
         } else {
             return bestSolution;
         }
     }
 
+    /**
+     * Return true if the nodes at a depth are relays in frontier search mode: the root,
+     * and the nodes whose depth is a power of two.
+     */
+    private static boolean isRelay(int depth) {
+        return (depth & (depth - 1)) == 0;
+    }
+
+    /**
+     * Rebuild the full path of a node found in frontier search mode, whose ancestors are only the relays.
+     *
+     * @return A node with the same state and cost, whose path can be walked.
+     */
+    private <A, S> Node<A, S> rebuildPath(Problem<A, S> problem, Node<A, S> node) {
+        List<Node<A, S>> relays = new ArrayList<>();
+        for (Node<A, S> n = node; n != null; n = n.getParent()) {
+            relays.add(n);
+        }
+        Collections.reverse(relays);
+
+        // The root has no parent, so it's already complete
+        Node<A, S> path = relays.get(0);
+        for (int i = 1; i < relays.size(); i++) {
+            path = appendSegment(problem, path, relays.get(i - 1), relays.get(i));
+        }
+
+        return path;
+    }
+
+    /**
+     * Extend a path from a relay to the next one, searching for the nodes between them.
+     * Only the relay in the middle of the segment is kept by the search, and the two halves
+     * are rebuilt recursively.
+     *
+     * @param path The end of the path built so far, with the same state as from
+     * @param from A relay
+     * @param to   A node whose parent is from
+     * @return The end of the extended path, with the same state as to
+     */
+    private <A, S> Node<A, S> appendSegment(Problem<A, S> problem, Node<A, S> path,
+                                            Node<A, S> from, Node<A, S> to) {
+        int steps = to.getDepth() - from.getDepth();
+        if (steps == 1) {
+            // Expand the path again, instead of attaching "to" to it, so that the path is made of actual steps
+            exploredNodes++;
+            Node<A, S> next = null;
+            for (Node<A, S> n : path.expand(problem)) {
+                if (n.getState().equals(to.getState()) && n.getPathCost() <= to.getPathCost()
+                        && (next == null || n.getPathCost() < next.getPathCost())) {
+                    next = n;
+                }
+            }
+
+            if (next == null) {
+                throw new IllegalStateException("Could not rebuild the path of the solution");
+            }
+            return next;
+        }
+
+        // The segment is searched from a copy of the path at depth 0, so the relay in the middle
+        // is at depth steps / 2, and the end of the segment at depth steps at most.
+        Node<A, S> start = path.withParent(null);
+        Node<A, S> end = searchSegment(problem, start, to, steps);
+        Node<A, S> middle = end.getParent();
+
+        if (end == start) {
+            // The state of "to" is the one of "from"
+            return path;
+        } else if (middle == start) {
+            // A segment shorter than half the steps has been found
+            return appendSegment(problem, path, start, end);
+        }
+
+        path = appendSegment(problem, path, start, middle);
+        return appendSegment(problem, path, middle, end);
+    }
+
+    /**
+     * Search a path of at most a given number of steps from a node to the state of a target, that is not more
+     * expensive than the target, and that can be extended to a solution within the bound.
+     * It's a frontier search itself, layered by depth, and the nodes only keep alive the start and the relay
+     * at half the steps. The explored nodes are added to the total.
+     *
+     * @return The end of the path, whose parent is the relay in the middle, or the start if the path is shorter.
+     */
+    private <A, S> Node<A, S> searchSegment(Problem<A, S> problem, Node<A, S> start, Node<A, S> target,
+                                            int steps) {
+        int middle = steps / 2;
+
+        // The states are compared with equals, not through their hash or canonical form, which may be shared
+        // by symmetric states: the path must continue from the state of the target.
+        FrontierLayers<A, S> layers = new FrontierLayers<>(problem, start, true);
+
+        for (int depth = 0; depth <= steps; depth++) {
+            boolean relay = depth == 0 || depth == middle;
+
+            for (Node<A, S> node : layers.current()) {
+                if (node.getState().equals(target.getState())) {
+                    return node;
+                }
+            }
+
+            if (depth == steps) {
+                break;
+            }
+
+            for (Node<A, S> node : layers.current()) {
+                exploredNodes++;
+                for (Node<A, S> n : node.expand(problem)) {
+                    // The path of the solution is never more expensive than the target,
+                    // and its nodes are within the bound according to the heuristic
+                    if (n.getPathCost() <= target.getPathCost()
+                            && n.getPathCost() + problem.heuristic(n.getState()) <= bound
+                            && layers.offer(n) && !relay) {
+                        n.skipParent();
+                    }
+                }
+            }
+
+            layers.advance();
+        }
+
+        throw new IllegalStateException("Could not rebuild the path of the solution");
+    }
+
+    /**
+     * Expand the nodes, in parallel if an executor has been set.
+     *
+     * @return The children of each node, with their lower bounds, in the same order as the nodes.
+     */
+    private <A, S> List<Pair<Node<A, S>[], double[]>> expand(List<Node<A, S>> nodes, Problem<A, S> problem) {
+        List<Pair<Node<A, S>[], double[]>> children = new ArrayList<>(nodes.size());
+
+        if (executor == null || nodes.size() == 1) {
+            for (Node<A, S> node : nodes) {
+                children.add(evaluate(node, problem));
+            }
+            return children;
+        }
+
+        List<Future<Pair<Node<A, S>[], double[]>>> futures = new ArrayList<>(nodes.size());
+        for (Node<A, S> node : nodes) {
+            futures.add(executor.submit(() -> evaluate(node, problem)));
+        }
+
+        try {
+            for (Future<Pair<Node<A, S>[], double[]>> future : futures) {
+                children.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while expanding the nodes", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Could not expand the nodes", e.getCause());
+        } finally {
+            for (Future<Pair<Node<A, S>[], double[]>> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        return children;
+    }
+
+    /**
+     * Expand a node, and compute the lower bound of the total cost of each child: its path cost
+     * plus the heuristic of the problem.
+     */
+    private static <A, S> Pair<Node<A, S>[], double[]> evaluate(Node<A, S> node, Problem<A, S> problem) {
+        Node<A, S>[] children = node.expand(problem);
+        double[] lowerBounds = new double[children.length];
+
+        for (int i = 0; i < children.length; i++) {
+            lowerBounds[i] = children[i].getPathCost() + problem.heuristic(children[i].getState());
+        }
+
+        return new Pair<>(children, lowerBounds);
+    }
+
     @Override
     public int getExploredNodes() {
         return exploredNodes;
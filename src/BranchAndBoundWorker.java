@@ -0,0 +1,251 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A worker of a {@link DistributedBranchAndBound} search.
+ * It connects to the coordinator, receives the problem and explores the subtrees it is assigned,
+ * until the coordinator tells it the search is over.
+ * <p>
+ * Only the classes allowed by {@link DistributedBranchAndBound} are deserialized: the classes of a problem,
+ * its states and its actions that are not part of this library must be passed on the command line.
+ * <p>
+ * Usage: java BranchAndBoundWorker host port [class...]
+ */
+public class BranchAndBoundWorker implements Runnable {
+
+    /*
+     * Number of attempts to connect to the coordinator, which may not be listening yet.
+     */
+    private static final int CONNECT_ATTEMPTS = 100;
+    private static final long CONNECT_DELAY_MS = 100;
+
+    private final String host;
+    private final int port;
+
+    /*
+     * The classes that can be deserialized from the coordinator
+     */
+    private final Set<String> allowedClasses = new HashSet<>(DistributedBranchAndBound.DEFAULT_ALLOWED_CLASSES);
+
+    /*
+     * The upper bound over which a branch is discarded
+     */
+    private double bound = Double.POSITIVE_INFINITY;
+
+    /*
+     * Number of explored nodes
+     */
+    private int exploredNodes = 0;
+
+    /*
+     * Messages received from the coordinator
+     */
+    private final BlockingQueue<Pair<Integer, DistributedBranchAndBound.Message>> inbox = new LinkedBlockingQueue<>();
+
+    private DistributedBranchAndBound.Connection coordinator;
+
+    /**
+     * Constructor for a worker.
+     *
+     * @param host           The host of the coordinator
+     * @param port           The port of the coordinator
+     * @param allowedClasses The classes to deserialize besides the default ones,
+     *                       such as the problem, the states and the actions of a custom problem
+     */
+    public BranchAndBoundWorker(String host, int port, Class<?>... allowedClasses) {
+        this.host = host;
+        this.port = port;
+        for (Class<?> c : allowedClasses) {
+            this.allowedClasses.add(c.getName());
+        }
+    }
+
+    public static void main(String[] args) throws ClassNotFoundException {
+        if (args.length < 2) {
+            System.err.println("Usage: java BranchAndBoundWorker host port [class...]");
+            System.exit(1);
+        }
+
+        Class<?>[] allowedClasses = new Class<?>[args.length - 2];
+        for (int i = 2; i < args.length; i++) {
+            allowedClasses[i - 2] = Class.forName(args[i]);
+        }
+
+        new BranchAndBoundWorker(args[0], Integer.parseInt(args[1]), allowedClasses).run();
+    }
+
+    @Override
+    public void run() {
+        try {
+            coordinator = new DistributedBranchAndBound.Connection(connect(), 0, inbox, allowedClasses);
+
+            DistributedBranchAndBound.Message message = receive();
+            if (message.type != DistributedBranchAndBound.Message.Type.PROBLEM) {
+                throw new RuntimeException("Unexpected message from coordinator: " + message.type);
+            }
+
+            bound = message.bound;
+            work((Problem) message.payload);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (coordinator != null) {
+                coordinator.close();
+            }
+        }
+    }
+
+    /**
+     * Explore the subtrees assigned by the coordinator, until the search is over.
+     */
+    private <A, S> void work(Problem<A, S> problem) throws IOException, InterruptedException {
+
+        // Open list, keeps track of the nodes that need to be explored
+        Queue<Node<A, S>> fringe = new PriorityQueue<>();
+
+        // The nodes that have already been visited, with the cheapest cost of each state.
+        // The costs are compared, since the batches of work are not received in order of path cost.
+        ClosedSet<A, S> closed = new ClosedSet<>(problem, true);
+
+        // True if the coordinator asked to split the fringe
+        boolean splitRequested = false;
+
+        while (true) {
+
+            // Handle the messages received while exploring
+            DistributedBranchAndBound.Message message;
+            while ((message = poll()) != null) {
+                switch (message.type) {
+                    case BOUND:
+                        bound = Math.min(bound, message.bound);
+                        break;
+                    case SPLIT:
+                        splitRequested = true;
+                        break;
+                    default:
+                        throw new RuntimeException("Unexpected message from coordinator: " + message.type);
+                }
+            }
+
+            if (splitRequested && fringe.size() >= 2) {
+                send(DistributedBranchAndBound.Message.Type.SPLIT_RESULT, split(fringe));
+                splitRequested = false;
+            }
+
+            if (fringe.isEmpty()) {
+                if (splitRequested) {
+                    send(DistributedBranchAndBound.Message.Type.SPLIT_RESULT, new ArrayList<Node<A, S>>());
+                    splitRequested = false;
+                }
+
+                send(DistributedBranchAndBound.Message.Type.IDLE, null);
+
+                // Wait for new work, or for the end of the search
+                List<Node<A, S>> work = null;
+                while (work == null) {
+                    message = receive();
+                    switch (message.type) {
+                        case BOUND:
+                            bound = Math.min(bound, message.bound);
+                            break;
+                        case SPLIT:
+                            send(DistributedBranchAndBound.Message.Type.SPLIT_RESULT, new ArrayList<Node<A, S>>());
+                            break;
+                        case WORK:
+                            bound = Math.min(bound, message.bound);
+                            work = (List<Node<A, S>>) message.payload;
+                            break;
+                        case DONE:
+                            send(DistributedBranchAndBound.Message.Type.STATS, exploredNodes);
+                            return;
+                        default:
+                            throw new RuntimeException("Unexpected message from coordinator: " + message.type);
+                    }
+                }
+
+                fringe.addAll(work);
+                continue;
+            }
+
+            Node<A, S> currentNode = fringe.remove();
+            closed.add(currentNode);
+            exploredNodes++;
+
+            // Skip if over bound!
+            if (currentNode.getPathCost() >= bound) {
+                continue;
+            }
+
+            if (problem.isGoal(currentNode.getState())) {
+                bound = currentNode.getPathCost();
+                send(DistributedBranchAndBound.Message.Type.SOLUTION, currentNode);
+            } else {
+                //Branch
+                for (Node<A, S> n : currentNode.expand(problem)) {
+                    //Bound
+                    if (n.getPathCost() + problem.heuristic(n.getState()) < bound && !closed.contains(n)) {
+                        fringe.add(n);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove every other node from the fringe, so that both halves contain cheap and expensive nodes.
+     *
+     * @return The removed nodes.
+     */
+    private static <A, S> ArrayList<Node<A, S>> split(Queue<Node<A, S>> fringe) {
+        ArrayList<Node<A, S>> given = new ArrayList<>(fringe.size() / 2);
+        ArrayList<Node<A, S>> kept = new ArrayList<>(fringe.size() - fringe.size() / 2);
+
+        for (int i = 0; !fringe.isEmpty(); i++) {
+            (i % 2 == 0 ? kept : given).add(fringe.remove());
+        }
+
+        fringe.addAll(kept);
+        return given;
+    }
+
+    private Socket connect() throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return new Socket(host, port);
+            } catch (ConnectException e) {
+                if (attempt == CONNECT_ATTEMPTS) {
+                    throw e;
+                }
+                Thread.sleep(CONNECT_DELAY_MS);
+            }
+        }
+    }
+
+    private void send(DistributedBranchAndBound.Message.Type type, Object payload) throws IOException {
+        coordinator.send(new DistributedBranchAndBound.Message(type, bound, payload));
+    }
+
+    private DistributedBranchAndBound.Message poll() {
+        Pair<Integer, DistributedBranchAndBound.Message> event = inbox.poll();
+        return event == null ? null : checkOpen(event.y);
+    }
+
+    private DistributedBranchAndBound.Message receive() throws InterruptedException {
+        return checkOpen(inbox.take().y);
+    }
+
+    private static DistributedBranchAndBound.Message checkOpen(DistributedBranchAndBound.Message message) {
+        if (message.type == DistributedBranchAndBound.Message.Type.CLOSED) {
+            throw new RuntimeException("Lost connection to the coordinator", (Throwable) message.payload);
+        }
+        return message;
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The set of the nodes that have already been visited during a search.
+ * States are identified by their 64-bit hash, if the problem is a {@link StateHasher}, or by their canonical state.
+ * <p>
+ * Graph solvers close a state as soon as it's visited. Optimizers instead remember the cheapest path cost each
+ * state has been visited with, and only discard a node if its state has been visited with a lower or equal cost:
+ * this keeps the search optimal even if the nodes are not visited in order of path cost.
+ *
+ * @param <A> Action type
+ * @param <S> State type
+ */
+class ClosedSet<A, S> {
+
+    /*
+     * The problem being solved
+     */
+    private final Problem<A, S> problem;
+
+    /*
+     * True if the cheapest path cost of every state is kept, false if a state is closed once visited.
+     */
+    private final boolean byCost;
+
+    private final Set<Object> keys = new HashSet<>();
+    private final Map<Object, Double> costs = new HashMap<>();
+
+    /**
+     * Constructor for a closed set.
+     *
+     * @param problem The problem being solved
+     * @param byCost  True to keep the cheapest path cost each state has been visited with,
+     *                false to close a state as soon as it's visited.
+     */
+    ClosedSet(Problem<A, S> problem, boolean byCost) {
+        this.problem = problem;
+        this.byCost = byCost;
+    }
+
+    /**
+     * Mark a node as visited.
+     *
+     * @return true if the state of the node had not been visited yet, or only with a higher cost.
+     */
+    boolean add(Node<A, S> node) {
+        if (!byCost) {
+            return keys.add(stateKey(problem, node));
+        }
+
+        Object key = stateKey(problem, node);
+        Double cost = costs.get(key);
+        if (cost != null && cost <= node.getPathCost()) {
+            return false;
+        }
+
+        costs.put(key, node.getPathCost());
+        return true;
+    }
+
+    /**
+     * Return true if the node has already been visited, or if its state has been visited with a lower cost.
+     */
+    boolean contains(Node<A, S> node) {
+        if (!byCost) {
+            return keys.contains(stateKey(problem, node));
+        }
+
+        Double cost = costs.get(stateKey(problem, node));
+        return cost != null && cost <= node.getPathCost();
+    }
+
+    /**
+     * Return the number of visited states.
+     */
+    int size() {
+        return byCost ? costs.size() : keys.size();
+    }
+
+    /**
+     * Return the key identifying the state of a node: its hash, if the problem is a StateHasher,
+     * or its canonical state.
+     */
+    static <A, S> Object stateKey(Problem<A, S> problem, Node<A, S> node) {
+        return problem instanceof StateHasher ? (Object) node.getStateHash() : problem.canonical(node.getState());
+    }
+}
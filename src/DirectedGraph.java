@@ -1,3 +1,4 @@
+import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -5,7 +6,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  * @author afusco
  * @date 24/02/17
  */
-class DirectedGraph {
+class DirectedGraph implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /*
      * A map from the vertex to outgoing edge.
@@ -0,0 +1,521 @@
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Branch and bound optimizer that distributes the search over several worker processes.
+ * <p>
+ * This optimizer acts as the coordinator: it expands the first levels of the tree locally, then waits for
+ * the workers (see {@link BranchAndBoundWorker}) to connect over TCP and hands them subtrees, in the form of
+ * serialized fringe nodes. Workers broadcast the improvements of the bound through the coordinator,
+ * and when a worker runs out of work the coordinator asks the busy workers to split their fringe.
+ * <p>
+ * The problem, its states and its actions must be serializable, since they are sent to the workers.
+ * Every worker keeps its own closed set, so duplicate states explored by different workers are not detected.
+ * <p>
+ * By default the coordinator only accepts connections on the loopback address. Both sides only deserialize
+ * the classes of the solver, of the problems in this library and a few common JDK types: the classes of other
+ * problems, states and actions must be allowed explicitly, see {@link #allowClasses} and {@link BranchAndBoundWorker}.
+ */
+public class DistributedBranchAndBound implements Optimizer {
+
+    /*
+     * Number of subtrees generated locally for each worker, before the workers are started.
+     */
+    private static final int SUBTREES_PER_WORKER = 4;
+
+    /*
+     * The classes that can be deserialized from a peer, unless more are allowed explicitly.
+     * Arrays are allowed if their component type is.
+     */
+    static final Set<String> DEFAULT_ALLOWED_CLASSES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            // The protocol
+            "DistributedBranchAndBound$Message", "DistributedBranchAndBound$Message$Type", "Node", "Problem",
+            // The problem library
+            "PathFindProblem", "DirectedGraph", "TSPProblem", "TSPProblem$Tour", "KnapsackProblem",
+            "KnapsackProblem$Knapsack", "JobShopProblem", "JobShopProblem$Schedule",
+            // Common JDK types
+            "java.lang.Enum", "java.lang.Number", "java.lang.String", "java.lang.Boolean", "java.lang.Character",
+            "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long", "java.lang.Float",
+            "java.lang.Double", "java.util.ArrayList", "java.util.HashMap", "java.util.HashSet",
+            "java.util.concurrent.atomic.AtomicInteger")));
+
+    /*
+     * Keep track if the problem is solvable or not.
+     */
+    private boolean solvable = true;
+
+    /*
+     * The upper bound over which a branch is discarded
+     */
+    private double bound = Double.POSITIVE_INFINITY;
+
+    /*
+     * Number of explored nodes, by the coordinator and by all the workers
+     */
+    private int exploredNodes = 0;
+
+    /*
+     * Current local solution, whose total cost is *this.bound*
+     */
+    private Node localSolution = null;
+
+    /*
+     * The address the coordinator listens on
+     */
+    private final InetAddress bindAddress;
+
+    /*
+     * The port the workers connect to
+     */
+    private final int port;
+
+    /*
+     * The number of workers that take part in the search
+     */
+    private final int workers;
+
+    /*
+     * Maximum time to wait for each worker to connect, in milliseconds. 0 waits forever.
+     */
+    private int acceptTimeout = 60000;
+
+    /*
+     * The classes that can be deserialized from the workers
+     */
+    private final Set<String> allowedClasses = new HashSet<>(DEFAULT_ALLOWED_CLASSES);
+
+    /**
+     * Constructor for a distributed branch and bound optimizer.
+     * The initial bound is set through a DepthFirst search, by default.
+     *
+     * The coordinator listens on the loopback address.
+     *
+     * @param problem The problem that must be optimized
+     * @param port    The port the workers connect to
+     * @param workers The number of workers that take part in the search
+     * @param <A>     Action type
+     * @param <S>     State type
+     */
+    public <A, S> DistributedBranchAndBound(Problem<A, S> problem, int port, int workers) {
+        this(problem, port, workers, new DepthFirstSolver());
+    }
+
+    /**
+     * Constructor for a distributed branch and bound optimizer.
+     * The initial bound is found using the localSolver passed.
+     * The number of nodes explored with the local Solver is added to the total.
+     * The coordinator listens on the loopback address.
+     *
+     * @param problem     The problem that must be optimized
+     * @param port        The port the workers connect to
+     * @param workers     The number of workers that take part in the search
+     * @param localSolver The solver used to find the first bound
+     * @param <A>         Action type
+     * @param <S>         State type
+     */
+    public <A, S> DistributedBranchAndBound(Problem<A, S> problem, int port, int workers, Solver localSolver) {
+        this(problem, InetAddress.getLoopbackAddress(), port, workers, localSolver);
+    }
+
+    /**
+     * Constructor for a distributed branch and bound optimizer, that listens on a specific address.
+     * The initial bound is found using the localSolver passed.
+     * The number of nodes explored with the local Solver is added to the total.
+     *
+     * @param problem     The problem that must be optimized
+     * @param bindAddress The address the coordinator listens on, null for every address
+     * @param port        The port the workers connect to
+     * @param workers     The number of workers that take part in the search
+     * @param localSolver The solver used to find the first bound
+     * @param <A>         Action type
+     * @param <S>         State type
+     */
+    public <A, S> DistributedBranchAndBound(Problem<A, S> problem, InetAddress bindAddress, int port, int workers,
+                                            Solver localSolver) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.workers = workers;
+
+        Node<A, S> bestLocalSolution = localSolver.solve(problem);
+        this.exploredNodes += localSolver.getExploredNodes();
+        this.bound = bestLocalSolution.getPathCost();
+
+        if (bound == Double.POSITIVE_INFINITY) {
+            //Solver could not converge
+            this.solvable = false;
+        } else {
+            this.localSolution = bestLocalSolution;
+        }
+    }
+
+    /**
+     * Set the maximum time to wait for each worker to connect. If a worker does not connect in time,
+     * solve throws an exception.
+     *
+     * @param acceptTimeout The timeout in milliseconds, 0 to wait forever
+     */
+    public void setAcceptTimeout(int acceptTimeout) {
+        if (acceptTimeout < 0) {
+            throw new IllegalArgumentException("The timeout must not be negative");
+        }
+
+        this.acceptTimeout = acceptTimeout;
+    }
+
+    /**
+     * Allow more classes to be deserialized from the workers, such as the states and actions of a problem
+     * that is not part of this library. The class of the initial state is always allowed.
+     *
+     * @param classes The classes to allow
+     */
+    public void allowClasses(Class<?>... classes) {
+        for (Class<?> c : classes) {
+            allowedClasses.add(c.getName());
+        }
+    }
+
+    /**
+     * Method used to solve the problem.
+     * It blocks until all the workers have connected and the search is over.
+     * The workers are always accepted, even if the search can be completed without them,
+     * so that every worker that has been started terminates.
+     *
+     * @param problem The problem that must be solved
+     * @param <A>     Action type
+     * @param <S>     State type
+     * @return The final Node of the path, through which the whole sequence of <Action, State> can be reconstructed
+     */
+    @Override
+    public <A, S> Node<A, S> solve(Problem<A, S> problem) {
+
+        // Check if the problem is solvable. If not, return a path with infinite cost.
+        // The workers are still accepted and told the search is over, or they would wait for the coordinator.
+        if (!solvable) {
+            distribute(problem, new PriorityQueue<>(), null);
+            return new Node<>(problem.getInitialState(), null, null, Double.POSITIVE_INFINITY);
+        }
+
+        // Subtrees that have not been assigned to a worker yet
+        PriorityQueue<Node<A, S>> pool = new PriorityQueue<>();
+        Node<A, S> bestSolution = (Node<A, S>) localSolution;
+
+        // Expand the first levels locally, until there are enough subtrees for every worker.
+        ClosedSet<A, S> closed = new ClosedSet<>(problem, true);
+        pool.add(Node.root(problem));
+
+        while (!pool.isEmpty() && pool.size() < workers * SUBTREES_PER_WORKER) {
+            Node<A, S> currentNode = pool.remove();
+            closed.add(currentNode);
+            exploredNodes++;
+
+            if (currentNode.getPathCost() >= bound) {
+                continue;
+            }
+
+            if (problem.isGoal(currentNode.getState())) {
+                bestSolution = currentNode;
+                bound = currentNode.getPathCost();
+            } else {
+                for (Node<A, S> n : currentNode.expand(problem)) {
+                    if (n.getPathCost() + problem.heuristic(n.getState()) < bound && !closed.contains(n)) {
+                        pool.add(n);
+                    }
+                }
+            }
+        }
+
+        // Even if the first levels have been explored entirely, the workers are accepted and told the search is over
+        bestSolution = distribute(problem, pool, bestSolution);
+
+        if (bestSolution == null || bound == Double.POSITIVE_INFINITY) {
+            return new Node<>(problem.getInitialState(), null, null, Double.POSITIVE_INFINITY);
+        } else {
+            return bestSolution;
+        }
+    }
+
+    /**
+     * Accept the workers and coordinate them until the whole pool has been explored.
+     * If the pool is empty, the workers are only told the search is over.
+     *
+     * @return The best solution found.
+     */
+    private <A, S> Node<A, S> distribute(Problem<A, S> problem, PriorityQueue<Node<A, S>> pool,
+                                         Node<A, S> bestSolution) {
+
+        // Messages received from the workers, tagged with the index of the sender.
+        BlockingQueue<Pair<Integer, Message>> inbox = new LinkedBlockingQueue<>();
+        Connection[] connections = new Connection[workers];
+
+        Set<String> allowed = new HashSet<>(allowedClasses);
+        allowed.add(problem.getInitialState().getClass().getName());
+
+        try (ServerSocket server = new ServerSocket(port, workers, bindAddress)) {
+            server.setSoTimeout(acceptTimeout);
+            for (int i = 0; i < workers; i++) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (SocketTimeoutException e) {
+                    throw new RuntimeException("Only " + i + " of " + workers + " workers connected", e);
+                }
+                connections[i] = new Connection(socket, i, inbox, allowed);
+                connections[i].send(new Message(Message.Type.PROBLEM, bound, problem));
+            }
+
+            // Every worker starts by declaring itself idle, and is assigned work then.
+            Set<Integer> idle = new HashSet<>();
+            boolean[] pendingSplit = new boolean[workers];
+            int pendingSplits = 0;
+
+            while (!(pool.isEmpty() && pendingSplits == 0 && idle.size() == workers)) {
+                Pair<Integer, Message> event = inbox.take();
+                int sender = event.x;
+                Message message = event.y;
+
+                switch (message.type) {
+                    case SOLUTION:
+                        Node<A, S> solution = (Node<A, S>) message.payload;
+                        if (solution.getPathCost() < bound) {
+                            bestSolution = solution;
+                            bound = solution.getPathCost();
+                            for (Connection c : connections) {
+                                if (c.index != sender) {
+                                    c.send(new Message(Message.Type.BOUND, bound, null));
+                                }
+                            }
+                        }
+                        break;
+
+                    case SPLIT_RESULT:
+                        pendingSplit[sender] = false;
+                        pendingSplits--;
+                        pool.addAll((List<Node<A, S>>) message.payload);
+                        break;
+
+                    case IDLE:
+                        idle.add(sender);
+                        break;
+
+                    case CLOSED:
+                        throw new RuntimeException("Lost connection to worker " + sender, (Throwable) message.payload);
+
+                    default:
+                        throw new RuntimeException("Unexpected message from worker " + sender + ": " + message.type);
+                }
+
+                dispatch(pool, idle, connections);
+
+                // Ask the busy workers to give away part of their fringe
+                if (pool.isEmpty() && !idle.isEmpty()) {
+                    for (Connection c : connections) {
+                        if (pendingSplits >= idle.size()) {
+                            break;
+                        }
+                        if (!idle.contains(c.index) && !pendingSplit[c.index]) {
+                            c.send(new Message(Message.Type.SPLIT, bound, null));
+                            pendingSplit[c.index] = true;
+                            pendingSplits++;
+                        }
+                    }
+                }
+            }
+
+            // The search is over, collect the number of nodes explored by each worker.
+            for (Connection c : connections) {
+                c.send(new Message(Message.Type.DONE, bound, null));
+            }
+
+            boolean[] done = new boolean[workers];
+            for (int received = 0; received < workers; ) {
+                Pair<Integer, Message> event = inbox.take();
+                if (event.y.type == Message.Type.STATS) {
+                    exploredNodes += (Integer) event.y.payload;
+                    done[event.x] = true;
+                    received++;
+                } else if (event.y.type == Message.Type.CLOSED && !done[event.x]) {
+                    throw new RuntimeException("Lost connection to worker " + event.x, (Throwable) event.y.payload);
+                }
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the workers", e);
+        } finally {
+            for (Connection c : connections) {
+                if (c != null) {
+                    c.close();
+                }
+            }
+        }
+
+        return bestSolution;
+    }
+
+    /**
+     * Split the pool evenly between the idle workers.
+     */
+    private <A, S> void dispatch(PriorityQueue<Node<A, S>> pool, Set<Integer> idle, Connection[] connections)
+            throws IOException {
+
+        // Discard the subtrees that have been bounded in the meanwhile
+        pool.removeIf(n -> n.getPathCost() >= bound);
+
+        Iterator<Integer> it = idle.iterator();
+        while (!pool.isEmpty() && it.hasNext()) {
+            int share = (pool.size() + idle.size() - 1) / idle.size();
+            ArrayList<Node<A, S>> work = new ArrayList<>(share);
+            for (int i = 0; i < share; i++) {
+                work.add(pool.remove());
+            }
+
+            connections[it.next()].send(new Message(Message.Type.WORK, bound, work));
+            it.remove();
+        }
+    }
+
+    @Override
+    public int getExploredNodes() {
+        return exploredNodes;
+    }
+
+    /**
+     * A message exchanged between the coordinator and a worker.
+     */
+    static class Message implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        enum Type {
+            // From the coordinator to the workers
+            PROBLEM, WORK, BOUND, SPLIT, DONE,
+            // From the workers to the coordinator
+            SOLUTION, SPLIT_RESULT, IDLE, STATS,
+            // Put in the inbox when the connection is lost
+            CLOSED
+        }
+
+        final Type type;
+
+        /*
+         * The bound known by the sender
+         */
+        final double bound;
+
+        /*
+         * The problem, a list of nodes, a solution node or the number of explored nodes, depending on the type.
+         */
+        final Object payload;
+
+        Message(Type type, double bound, Object payload) {
+            this.type = type;
+            this.bound = bound;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * The connection to a single peer.
+     * Received messages are put in a shared inbox by a background thread, tagged with the index of the connection.
+     * Only the allowed classes are deserialized: anything else closes the connection.
+     */
+    static class Connection {
+
+        final int index;
+        private final Socket socket;
+        private final ObjectOutputStream out;
+
+        Connection(Socket socket, int index, BlockingQueue<Pair<Integer, Message>> inbox, Set<String> allowedClasses)
+                throws IOException {
+            this.socket = socket;
+            this.index = index;
+            this.out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            this.out.flush();
+
+            ObjectInputStream in = new FilteredObjectInputStream(
+                    new BufferedInputStream(socket.getInputStream()), allowedClasses);
+
+            Thread reader = new Thread(() -> {
+                try {
+                    while (true) {
+                        inbox.put(new Pair<>(index, (Message) in.readObject()));
+                    }
+                } catch (InterruptedException e) {
+                    // Shutting down
+                } catch (Throwable e) {
+                    // Whatever the failure, the peer must not wait forever for a message
+                    inbox.add(new Pair<>(index, new Message(Message.Type.CLOSED, Double.NaN, e)));
+                }
+            }, "bnb-connection-" + index);
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        void send(Message message) throws IOException {
+            out.writeObject(message);
+            // Forget the objects already sent, or the stream would keep every node alive
+            out.reset();
+            out.flush();
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+
+    /**
+     * An object stream that refuses to deserialize any class outside of a whitelist, before the class is loaded.
+     */
+    static class FilteredObjectInputStream extends ObjectInputStream {
+
+        private final Set<String> allowedClasses;
+
+        FilteredObjectInputStream(InputStream in, Set<String> allowedClasses) throws IOException {
+            super(in);
+            this.allowedClasses = allowedClasses;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            // Arrays are allowed if their component type is, and arrays of primitives are always allowed
+            String name = desc.getName();
+            int dimensions = 0;
+            while (name.charAt(dimensions) == '[') {
+                dimensions++;
+            }
+
+            String component = name.substring(dimensions);
+            boolean primitive = dimensions > 0 && component.length() == 1;
+            if (dimensions > 0 && component.startsWith("L") && component.endsWith(";")) {
+                component = component.substring(1, component.length() - 1);
+            }
+
+            if (!primitive && !allowedClasses.contains(component)) {
+                throw new InvalidClassException(name, "Class not allowed by the distributed search");
+            }
+
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("Proxy classes are not allowed by the distributed search");
+        }
+    }
+}
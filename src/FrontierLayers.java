@@ -0,0 +1,100 @@
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The duplicate detection of a frontier search that is layered by depth: instead of every visited state,
+ * only the states of three layers are kept, the layer being expanded, the one before it and the one being
+ * generated, with the cheapest node of each state.
+ * <p>
+ * When every action can be undone, the children of a node are either in one of these layers or new,
+ * so no state is generated again from the layer it comes from. Otherwise a state may be generated again from a
+ * later layer, and explored again if it's not more expensive than the copies in the three layers.
+ * <p>
+ * A node is never discarded because of a deeper one: the copy of its state that is kept can reach
+ * any node the discarded one could reach, with as many steps or fewer.
+ *
+ * @param <A> Action type
+ * @param <S> State type
+ */
+class FrontierLayers<A, S> {
+
+    /*
+     * The problem being solved
+     */
+    private final Problem<A, S> problem;
+
+    /*
+     * True if the states are compared with equals, instead of through their hash or canonical form
+     */
+    private final boolean exact;
+
+    /*
+     * The cheapest node of each state in the three layers
+     */
+    private Map<Object, Node<A, S>> previous = new HashMap<>();
+    private Map<Object, Node<A, S>> current = new HashMap<>();
+    private Map<Object, Node<A, S>> next = new HashMap<>();
+
+    /**
+     * Constructor for the layers of a frontier search.
+     *
+     * @param problem The problem being solved
+     * @param root    The node of the first layer
+     * @param exact   True to compare the states with equals, false to identify them like ClosedSet.stateKey,
+     *                which folds together the states with the same hash or canonical form
+     */
+    FrontierLayers(Problem<A, S> problem, Node<A, S> root, boolean exact) {
+        this.problem = problem;
+        this.exact = exact;
+        current.put(key(root), root);
+    }
+
+    /**
+     * Add a node to the layer being generated, unless its state is in one of the three layers with a lower
+     * or equal cost. A more expensive node of the same state in the layer being generated is replaced.
+     *
+     * @return true if the node has been added.
+     */
+    boolean offer(Node<A, S> node) {
+        Object key = key(node);
+        if (dominates(previous.get(key), node) || dominates(current.get(key), node)
+                || dominates(next.get(key), node)) {
+            return false;
+        }
+
+        next.put(key, node);
+        return true;
+    }
+
+    /**
+     * Return the nodes of the layer being expanded.
+     */
+    Collection<Node<A, S>> current() {
+        return current.values();
+    }
+
+    /**
+     * Return the number of nodes in the layer being generated.
+     */
+    int nextSize() {
+        return next.size();
+    }
+
+    /**
+     * Start expanding the layer that has been generated, and forget the oldest one.
+     */
+    void advance() {
+        previous = current;
+        current = next;
+        next = new HashMap<>();
+    }
+
+    private Object key(Node<A, S> node) {
+        return exact ? node.getState() : ClosedSet.stateKey(problem, node);
+    }
+
+    private static boolean dominates(Node<?, ?> kept, Node<?, ?> node) {
+        return kept != null && kept.getPathCost() <= node.getPathCost();
+    }
+}
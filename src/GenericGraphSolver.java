@@ -7,20 +7,20 @@ public abstract class GenericGraphSolver implements Solver {
 
     public <A, S> Node<A, S> solve(Problem<A, S> problem, Collection<Node<A, S>> fringe) {
         Node<A, S> node;
-        Set<S> closed = new HashSet<>();
+        ClosedSet<A, S> closed = new ClosedSet<>(problem, false);
 
-        fringe.add(new Node<>(problem.getInitialState()));
+        fringe.add(Node.root(problem));
 
         while (!fringe.isEmpty()) {
             node = Utils.pop(fringe);
-            closed.add(node.getState());
+            closed.add(node);
             exploredNodes++;
             if (problem.isGoal(node.getState())) {
                 return node;
             }
 
             for (Node<A, S> n : node.expand(problem)) {
-                if (!closed.contains(n.getState())) {
+                if (!closed.contains(n)) {
                     fringe.add(n);
                 }
             }
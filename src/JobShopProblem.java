@@ -0,0 +1,259 @@
+import java.io.*;
+import java.util.*;
+
+/**
+ * Job-shop scheduling problem: every job is a sequence of operations, each one to be processed on a given
+ * machine for a given time. A machine processes one operation at a time, and the goal is a schedule with
+ * the minimum makespan.
+ * <p>
+ * An action is the job whose next operation is scheduled, at the earliest time both the job and the machine
+ * are free. The path cost is the makespan of the partial schedule.
+ */
+public class JobShopProblem extends Problem<Integer, JobShopProblem.Schedule> {
+
+    private static final long serialVersionUID = 1L;
+
+    /*
+     * machine[j][k] and duration[j][k] describe the k-th operation of job j
+     */
+    private final int[][] machine;
+    private final int[][] duration;
+
+    private final int machines;
+
+    public JobShopProblem(int[][] machine, int[][] duration) {
+        super(null, null);
+
+        if (machine.length != duration.length) {
+            throw new IllegalArgumentException("Machines and durations must have the same length");
+        }
+
+        int machines = 0;
+        for (int j = 0; j < machine.length; j++) {
+            if (machine[j].length != duration[j].length) {
+                throw new IllegalArgumentException("Machines and durations of job " + j + " must have the same length");
+            }
+            for (int m : machine[j]) {
+                machines = Math.max(machines, m + 1);
+            }
+        }
+
+        this.machine = machine;
+        this.duration = duration;
+        this.machines = machines;
+        this.start = new Schedule(new int[machine.length], new int[machine.length], new int[machines]);
+    }
+
+    /**
+     * Generate an instance in the style of Taillard's: every job visits all the machines in a random order,
+     * with random durations between 1 and 99.
+     *
+     * @param jobs     The number of jobs
+     * @param machines The number of machines
+     * @param seed     The seed of the generator, the same seed gives the same instance
+     */
+    public static JobShopProblem random(int jobs, int machines, long seed) {
+        Random random = new Random(seed);
+        int[][] machine = new int[jobs][machines];
+        int[][] duration = new int[jobs][machines];
+
+        for (int j = 0; j < jobs; j++) {
+            for (int k = 0; k < machines; k++) {
+                machine[j][k] = k;
+                duration[j][k] = 1 + random.nextInt(99);
+            }
+            // Fisher-Yates shuffle of the machine order
+            for (int k = machines - 1; k > 0; k--) {
+                int r = random.nextInt(k + 1);
+                int tmp = machine[j][k];
+                machine[j][k] = machine[j][r];
+                machine[j][r] = tmp;
+            }
+        }
+
+        return new JobShopProblem(machine, duration);
+    }
+
+    /**
+     * Load an instance in the standard format of the OR-Library: a first line with the number of jobs and
+     * machines, followed by a line for each job, listing machine and duration of every operation.
+     * Machines are numbered from 0. Lines starting with # are ignored.
+     *
+     * @param file The file to load
+     */
+    public static JobShopProblem load(File file) throws IOException {
+        StringBuilder content = new StringBuilder();
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().startsWith("#")) {
+                    content.append(line).append('\n');
+                }
+            }
+        }
+
+        Scanner scanner = new Scanner(content.toString());
+        int jobs = Integer.parseInt(scanner.next());
+        int machines = Integer.parseInt(scanner.next());
+        int[][] machine = new int[jobs][machines];
+        int[][] duration = new int[jobs][machines];
+
+        for (int j = 0; j < jobs; j++) {
+            for (int k = 0; k < machines; k++) {
+                machine[j][k] = Integer.parseInt(scanner.next());
+                duration[j][k] = Integer.parseInt(scanner.next());
+            }
+        }
+
+        return new JobShopProblem(machine, duration);
+    }
+
+    @Override
+    public boolean isGoal(Schedule schedule) {
+        for (int j = 0; j < machine.length; j++) {
+            if (schedule.next[j] < machine[j].length) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Only active schedules are generated (Giffler-Thompson): the operation that would complete first fixes
+     * a machine, and only the operations on that machine that could start before that completion are branched on.
+     * At least one optimal schedule is always active.
+     */
+    @Override
+    public Pair<Integer, Schedule>[] expand(Schedule schedule) {
+        List<Pair<Integer, Schedule>> next = new ArrayList<>();
+
+        // Find the earliest completion time among the next operations, and its machine
+        int earliestEnd = Integer.MAX_VALUE;
+        int conflictMachine = -1;
+
+        for (int j = 0; j < machine.length; j++) {
+            int k = schedule.next[j];
+            if (k < machine[j].length) {
+                int end = startTime(schedule, j) + duration[j][k];
+                if (end < earliestEnd) {
+                    earliestEnd = end;
+                    conflictMachine = machine[j][k];
+                }
+            }
+        }
+
+        for (int j = 0; j < machine.length; j++) {
+            int k = schedule.next[j];
+            if (k == machine[j].length || machine[j][k] != conflictMachine || startTime(schedule, j) >= earliestEnd) {
+                continue;
+            }
+
+            int m = machine[j][k];
+            int end = startTime(schedule, j) + duration[j][k];
+
+            int[] nextOperation = schedule.next.clone();
+            int[] jobReady = schedule.jobReady.clone();
+            int[] machineReady = schedule.machineReady.clone();
+            nextOperation[j]++;
+            jobReady[j] = end;
+            machineReady[m] = end;
+
+            next.add(new Pair<>(j, new Schedule(nextOperation, jobReady, machineReady)));
+        }
+
+        return next.toArray(new Pair[0]);
+    }
+
+    /**
+     * The earliest time the next operation of a job can start.
+     */
+    private int startTime(Schedule schedule, int job) {
+        return Math.max(schedule.jobReady[job], schedule.machineReady[machine[job][schedule.next[job]]]);
+    }
+
+    @Override
+    public double pathCost(double previousCost, Schedule from, Integer job, Schedule to) {
+        return Math.max(previousCost, to.jobReady[job]);
+    }
+
+    /**
+     * Neither a machine nor a job can finish before it has processed all its remaining operations:
+     * the latest of those completion times is a lower bound of the makespan.
+     */
+    @Override
+    public double heuristic(Schedule schedule) {
+        int[] machineWork = schedule.machineReady.clone();
+        int makespan = 0;
+        int bound = 0;
+
+        for (int j = 0; j < machine.length; j++) {
+            int jobWork = schedule.jobReady[j];
+            for (int k = schedule.next[j]; k < machine[j].length; k++) {
+                jobWork += duration[j][k];
+                machineWork[machine[j][k]] += duration[j][k];
+            }
+            bound = Math.max(bound, jobWork);
+            makespan = Math.max(makespan, schedule.jobReady[j]);
+        }
+
+        for (int m = 0; m < machines; m++) {
+            bound = Math.max(bound, machineWork[m]);
+        }
+
+        return bound - makespan;
+    }
+
+    /**
+     * The number of operations of the instance
+     */
+    public int size() {
+        int operations = 0;
+        for (int[] job : machine) {
+            operations += job.length;
+        }
+        return operations;
+    }
+
+    /**
+     * A partial schedule: the next operation of every job, and the time every job and machine become free.
+     */
+    public static class Schedule implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        public final int[] next;
+        public final int[] jobReady;
+        public final int[] machineReady;
+
+        public Schedule(int[] next, int[] jobReady, int[] machineReady) {
+            this.next = next;
+            this.jobReady = jobReady;
+            this.machineReady = machineReady;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Schedule schedule = (Schedule) o;
+
+            return Arrays.equals(next, schedule.next)
+                    && Arrays.equals(jobReady, schedule.jobReady)
+                    && Arrays.equals(machineReady, schedule.machineReady);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Arrays.hashCode(next);
+            result = 31 * result + Arrays.hashCode(jobReady);
+            result = 31 * result + Arrays.hashCode(machineReady);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(next);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+import java.io.*;
+import java.util.*;
+
+/**
+ * 0/1 knapsack problem: choose the items to put in a knapsack of limited capacity, maximizing their total value.
+ * <p>
+ * It is turned into a minimization problem by using the value of the discarded items as path cost.
+ * The items are considered in order of decreasing value per unit of weight, and at each step the action is
+ * true if the item is taken, false if it is discarded.
+ */
+public class KnapsackProblem extends Problem<Boolean, KnapsackProblem.Knapsack> {
+
+    private static final long serialVersionUID = 1L;
+
+    /*
+     * Values and weights of the items, sorted by decreasing value per unit of weight
+     */
+    private final int[] values;
+    private final int[] weights;
+
+    /*
+     * order[i] is the index of the i-th sorted item in the arrays passed to the constructor
+     */
+    private final int[] order;
+
+    /*
+     * remainingValue[i] is the total value of the items from i onwards
+     */
+    private final long[] remainingValue;
+
+    public KnapsackProblem(int[] values, int[] weights, int capacity) {
+        super(new Knapsack(0, capacity), null);
+
+        if (values.length != weights.length) {
+            throw new IllegalArgumentException("Values and weights must have the same length");
+        }
+
+        int n = values.length;
+        Integer[] sorted = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, (a, b) -> Long.compare((long) values[b] * weights[a], (long) values[a] * weights[b]));
+
+        this.values = new int[n];
+        this.weights = new int[n];
+        this.order = new int[n];
+        this.remainingValue = new long[n + 1];
+
+        for (int i = 0; i < n; i++) {
+            this.order[i] = sorted[i];
+            this.values[i] = values[sorted[i]];
+            this.weights[i] = weights[sorted[i]];
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            remainingValue[i] = remainingValue[i + 1] + this.values[i];
+        }
+    }
+
+    /**
+     * Generate an instance with random weights and values between 1 and 100.
+     * The capacity is half of the total weight.
+     *
+     * @param items The number of items
+     * @param seed  The seed of the generator, the same seed gives the same instance
+     */
+    public static KnapsackProblem random(int items, long seed) {
+        Random random = new Random(seed);
+        int[] values = new int[items];
+        int[] weights = new int[items];
+        int totalWeight = 0;
+
+        for (int i = 0; i < items; i++) {
+            values[i] = 1 + random.nextInt(100);
+            weights[i] = 1 + random.nextInt(100);
+            totalWeight += weights[i];
+        }
+
+        return new KnapsackProblem(values, weights, totalWeight / 2);
+    }
+
+    /**
+     * Load an instance in the format of the classic low-dimensional benchmark set:
+     * a first line with the number of items and the capacity, followed by a line with value and weight
+     * for each item.
+     *
+     * @param file The file to load
+     */
+    public static KnapsackProblem load(File file) throws IOException {
+        try (Scanner scanner = new Scanner(new BufferedReader(new FileReader(file)))) {
+            int n = Integer.parseInt(scanner.next());
+            int capacity = (int) Double.parseDouble(scanner.next());
+            int[] values = new int[n];
+            int[] weights = new int[n];
+
+            for (int i = 0; i < n; i++) {
+                values[i] = (int) Double.parseDouble(scanner.next());
+                weights[i] = (int) Double.parseDouble(scanner.next());
+            }
+
+            return new KnapsackProblem(values, weights, capacity);
+        }
+    }
+
+    @Override
+    public boolean isGoal(Knapsack knapsack) {
+        return knapsack.item == values.length;
+    }
+
+    @Override
+    public Pair<Boolean, Knapsack>[] expand(Knapsack knapsack) {
+        int i = knapsack.item;
+
+        if (i == values.length) {
+            return new Pair[0];
+        }
+
+        Pair<Boolean, Knapsack> discard = new Pair<>(false, new Knapsack(i + 1, knapsack.capacity));
+
+        if (weights[i] > knapsack.capacity) {
+            return new Pair[]{discard};
+        }
+
+        return new Pair[]{
+                new Pair<>(true, new Knapsack(i + 1, knapsack.capacity - weights[i])),
+                discard
+        };
+    }
+
+    @Override
+    public double pathCost(double previousCost, Knapsack from, Boolean take, Knapsack to) {
+        return take ? previousCost : previousCost + values[from.item];
+    }
+
+    /**
+     * The value of the remaining items, minus the value of the best fractional filling of the residual capacity
+     * (Dantzig bound), is a lower bound of the value that will still be discarded.
+     */
+    @Override
+    public double heuristic(Knapsack knapsack) {
+        double taken = 0;
+        int capacity = knapsack.capacity;
+
+        for (int i = knapsack.item; i < values.length && capacity > 0; i++) {
+            if (weights[i] <= capacity) {
+                taken += values[i];
+                capacity -= weights[i];
+            } else {
+                taken += (double) values[i] * capacity / weights[i];
+                capacity = 0;
+            }
+        }
+
+        return remainingValue[knapsack.item] - taken;
+    }
+
+    /**
+     * Return the indexes of the items taken in a solution, as passed to the constructor.
+     *
+     * @param solution The final node of a solution
+     */
+    public int[] takenItems(Node<Boolean, Knapsack> solution) {
+        List<Integer> taken = new ArrayList<>();
+
+        for (Node<Boolean, Knapsack> node : solution.path()) {
+            if (node.getAction() != null && node.getAction()) {
+                taken.add(order[node.getState().item - 1]);
+            }
+        }
+
+        int[] items = new int[taken.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = taken.get(i);
+        }
+        Arrays.sort(items);
+
+        return items;
+    }
+
+    /**
+     * The total value of all the items: the value of a solution is this minus its path cost.
+     */
+    public long totalValue() {
+        return remainingValue[0];
+    }
+
+    /**
+     * The number of items
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * A partial filling of the knapsack: the next item to consider, and the residual capacity.
+     */
+    public static class Knapsack implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        public final int item;
+        public final int capacity;
+
+        public Knapsack(int item, int capacity) {
+            this.item = item;
+            this.capacity = capacity;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Knapsack knapsack = (Knapsack) o;
+
+            return item == knapsack.item && capacity == knapsack.capacity;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * item + capacity;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + item + ", " + capacity + ")";
+        }
+    }
+}
@@ -31,7 +31,10 @@ public class Main {
                 new BestFirstSolver(),
                 new DepthFirstSolver(),
                 new BreadthFirstSolver(),
-                new BranchAndBound(p)
+                new BeamSolver(2),
+                new BranchAndBound(p),
+                new BranchAndBound(p, new BeamSolver(2)),
+                new BranchAndBound(p, new AnytimeBeamSolver(1, 4))
         };
 
 
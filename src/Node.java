@@ -1,3 +1,10 @@
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+
 /**
  * This class defines a node in the expanded tree of a problem.
  * It allows to backtrack all the steps required to get to the current state.
@@ -5,12 +12,18 @@
  * @param <Action> Type for describing an action to get to a new node
  * @param <State>  Type for describing a local state in a problem
  */
-public class Node<Action, State> implements Comparable<Node<Action, State>> {
+public class Node<Action, State> implements Comparable<Node<Action, State>>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /*
      * Keep track of the parent node for backtracking..
+     * Ancestors are shared between siblings, so the nodes form a persistent tree:
+     * once a branch is pruned and none of its descendants is referenced, it is garbage collected.
+     * It's serialized by writeObject, one ancestor at a time.
+     * In a frontier search it may be a more distant ancestor, see skipParent.
      */
-    protected Node<Action, State> parent;
+    protected transient Node<Action, State> parent;
 
     /*
      * Current state
@@ -32,6 +45,11 @@ public class Node<Action, State> implements Comparable<Node<Action, State>> {
      */
     protected double pathCost;
 
+    /*
+     * 64-bit hash of the state, only set if the problem is a StateHasher.
+     */
+    protected long stateHash;
+
     /**
      * Constructor for a node.
      *
@@ -65,6 +83,48 @@ public class Node<Action, State> implements Comparable<Node<Action, State>> {
         this(state, null, null, 0);
     }
 
+    /**
+     * Create the root node of a problem, with the initial state.
+     *
+     * @param problem The problem
+     * @return The root node.
+     */
+    public static <Action, State> Node<Action, State> root(Problem<Action, State> problem) {
+        Node<Action, State> root = new Node<>(problem.getInitialState());
+        if (problem instanceof StateHasher) {
+            root.stateHash = ((StateHasher<Action, State>) problem).stateHash(root.state);
+        }
+        return root;
+    }
+
+    /**
+     * Get the parent node, or a more distant ancestor if skipParent has been called.
+     */
+    Node<Action, State> getParent() {
+        return parent;
+    }
+
+    /**
+     * Link this node to its grandparent instead of its parent, keeping its depth.
+     * The frontier search uses it to only keep a few relay nodes of each path alive: the path of the node
+     * can't be walked anymore, and it must be rebuilt by searching again between the relays.
+     */
+    void skipParent() {
+        parent = parent.parent;
+    }
+
+    /**
+     * Return a copy of this node, with the same state, action, path cost and hash, as the child of another node.
+     *
+     * @param parent The parent of the copy, null for a copy at depth 0
+     * @return The copy.
+     */
+    Node<Action, State> withParent(Node<Action, State> parent) {
+        Node<Action, State> copy = new Node<>(state, parent, action, pathCost);
+        copy.stateHash = stateHash;
+        return copy;
+    }
+
     /**
      * The path required to get to current node from the root node.
      *
@@ -72,13 +132,11 @@ public class Node<Action, State> implements Comparable<Node<Action, State>> {
      */
     public Node<Action, State>[] path() {
         Node<Action, State>[] path = (Node<Action, State>[]) new Node[depth + 1];
-        Node node = this;
+        Node<Action, State> node = this;
 
         int i = 0;
-
-        path[i++] = this;
-        while (node.parent != null) {
-            path[i++] = node.parent;
+        while (node != null) {
+            path[i++] = node;
             node = node.parent;
         }
 
@@ -94,6 +152,8 @@ public class Node<Action, State> implements Comparable<Node<Action, State>> {
     public Node<Action, State>[] expand(Problem<Action, State> problem) {
         Pair<Action, State>[] nextStates = problem.expand(this.state);
         Node<Action, State>[] nextNodes = (Node<Action, State>[]) new Node[nextStates.length];
+        StateHasher<Action, State> hasher = problem instanceof StateHasher
+                ? (StateHasher<Action, State>) problem : null;
 
         for (int i = 0; i < nextStates.length; i++) {
             Action action = nextStates[i].x;
@@ -101,6 +161,10 @@ public class Node<Action, State> implements Comparable<Node<Action, State>> {
 
             nextNodes[i] = new Node<>(nextState, this, action,
                     problem.pathCost(this.pathCost, this.state, action, nextState));
+
+            if (hasher != null) {
+                nextNodes[i].stateHash = hasher.stateHash(this.stateHash, this.state, action, nextState);
+            }
         }
 
         return nextNodes;
@@ -133,6 +197,15 @@ public class Node<Action, State> implements Comparable<Node<Action, State>> {
         return depth;
     }
 
+    /**
+     * Get the 64-bit hash of the state, if the problem is a StateHasher.
+     *
+     * @return
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
     /**
      * Get the total path cost required to get to this node from the root node.
      *
@@ -146,12 +219,31 @@ public class Node<Action, State> implements Comparable<Node<Action, State>> {
      * Return a string representing the path
      */
     public String pathString() {
+        StringBuilder out = new StringBuilder();
+        try {
+            appendPath(out);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
 
+    /**
+     * Write the states of the path, from the root to this node, to an Appendable.
+     * Nodes only keep a reference to their parent, so the path is materialised
+     * only when it is requested, and no intermediate string is built.
+     *
+     * @param out The destination of the path
+     * @return The same Appendable, for chaining
+     * @throws IOException If the Appendable fails
+     */
+    public Appendable appendPath(Appendable out) throws IOException {
         Node<Action, State>[] path = this.path();
 
-        String out = path[path.length-1].state.toString();
+        out.append(String.valueOf(path[path.length - 1].state));
         for (int i = path.length - 2; i >= 0; i--) {
-            out += " -> " + path[i].state;
+            out.append(" -> ").append(String.valueOf(path[i].state));
         }
 
         return out;
@@ -169,7 +261,51 @@ public class Node<Action, State> implements Comparable<Node<Action, State>> {
     }
 
     public void printPath() {
-        System.out.println(pathString());
+        try {
+            appendPath(System.out).append(System.lineSeparator());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serialize the node with its ancestors. The default serialization would write the chain of parents
+     * recursively, overflowing the stack for deep paths, so the ancestors are written one after the other,
+     * from the root.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+
+        Node<Action, State>[] path = this.path();
+        for (int i = path.length - 1; i > 0; i--) {
+            out.writeObject(path[i].state);
+            out.writeObject(path[i].action);
+            out.writeDouble(path[i].pathCost);
+            out.writeLong(path[i].stateHash);
+        }
+    }
+
+    /**
+     * Rebuild the ancestors written by writeObject. There is one for each level of depth.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        if (depth < 0) {
+            throw new InvalidObjectException("Negative depth");
+        }
+
+        Node<Action, State> ancestor = null;
+        for (int i = 0; i < depth; i++) {
+            State state = (State) in.readObject();
+            Action action = (Action) in.readObject();
+            double pathCost = in.readDouble();
+
+            ancestor = new Node<>(state, ancestor, action, pathCost);
+            ancestor.stateHash = in.readLong();
+        }
+
+        this.parent = ancestor;
     }
 
     @Override
@@ -8,6 +8,8 @@ import java.util.Map;
  */
 public class PathFindProblem extends Problem<Integer, Integer> {
 
+    private static final long serialVersionUID = 1L;
+
     private DirectedGraph g;
 
     public PathFindProblem(DirectedGraph g, int from, int to) {
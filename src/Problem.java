@@ -1,3 +1,5 @@
+import java.io.Serializable;
+
 /**
  * @author afusco
  * @date 23/02/17
@@ -8,10 +10,13 @@
  * A problem has an initial state and a goal state.
  * Each possible state can lead to other states through an action.
  * While the state is important to define each node in the tree, the actions can be ignored if not needed.
+ * Problems that provide 64-bit state hashes also implement {@link StateHasher}.
  * @param <Action>  The type representing an action.
  * @param <State>   The type representing a state.
  */
-public abstract class Problem<Action, State> {
+public abstract class Problem<Action, State> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     protected State goal;
     protected State start;
@@ -48,6 +53,30 @@ public abstract class Problem<Action, State> {
      */
     public abstract double pathCost(double previousCost, State from, Action action, State to);
 
+    /**
+     * Return an estimate of the cost needed to get from the specified state to a goal.
+     * Solvers that use it as a lower bound require it never to overestimate the actual cost.
+     * The default implementation gives no information and returns 0.
+     * @param state The state
+     * @return the estimated remaining cost.
+     */
+    public double heuristic(State state) {
+        return 0;
+    }
+
+    /**
+     * Return the canonical representative of a state, so that states that are equivalent under the
+     * symmetries of the problem are folded together during duplicate detection.
+     * It's applied by the closed sets of every solver, unless the problem implements {@link StateHasher}:
+     * in that case, the hash itself must be the same for the whole symmetry class.
+     * The default implementation considers every state canonical.
+     * @param state The state
+     * @return a state equivalent to the specified one, the same for the whole symmetry class.
+     */
+    public State canonical(State state) {
+        return state;
+    }
+
     /**
      * Return the initial state of the problem
      */
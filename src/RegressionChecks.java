@@ -0,0 +1,131 @@
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Small problems that used to give a wrong result: each one is solved again, and an IllegalStateException
+ * is thrown if the expected solution is not found.
+ * <p>
+ * Usage: java RegressionChecks
+ */
+public class RegressionChecks {
+
+    public static void main(String[] args) {
+        checkHashedPath();
+        checkSymmetricTwins();
+        checkUnreachableGoal();
+
+        System.out.println("All regression checks passed");
+    }
+
+    /**
+     * With state hashes, a batch of parallel expansions used to close an expensive path to a state
+     * before a cheaper path to it was generated.
+     */
+    private static void checkHashedPath() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            DirectedGraph g = new DirectedGraph(5);
+            g.addEdge(0, 1, 1);
+            g.addEdge(0, 2, 10);
+            g.addEdge(1, 2, 1);
+            g.addEdge(2, 3, 1);
+            g.addEdge(3, 4, 1);
+
+            PathFindProblem hashed = new HashedPathFindProblem(g, 0, 4);
+
+            for (int batchSize : new int[]{1, 2, 4}) {
+                for (boolean frontierSearch : new boolean[]{false, true}) {
+                    BranchAndBound solver = new BranchAndBound(hashed, 100);
+                    solver.setParallelExpansion(batchSize, executor);
+                    solver.setFrontierSearch(frontierSearch);
+
+                    Node<Integer, Integer> solution = solver.solve(hashed);
+                    check(solution, 4, "0 -> 1 -> 2 -> 3 -> 4", "Hashed path, batch size " + batchSize
+                            + (frontierSearch ? ", frontier search" : ""));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * In frontier search mode, the path of the solution used to be rebuilt through a symmetric state
+     * with the same hash, giving a path that can't be walked.
+     */
+    private static void checkSymmetricTwins() {
+        Random random = new Random();
+
+        for (long seed = 0; seed < 20; seed++) {
+            random.setSeed(seed);
+
+            // A chain to the goal, and a mirror of it whose vertices are hashed like the ones of the chain
+            DirectedGraph g = new DirectedGraph(300);
+            for (int v = 0; v < 5; v++) {
+                g.addEdge(v, v + 1, 1);
+            }
+            g.addEdge(2, 13, 1);
+            g.addEdge(13, 104, 1);
+            g.addEdge(104, 105, 1);
+
+            // Dead ends, changing the order in which the nodes are explored
+            for (int k = 0; k < 5; k++) {
+                int v = 200 + k * 10;
+                g.addEdge(0, v, 1 + random.nextInt(3));
+                g.addEdge(v, v + 1, 1 + random.nextInt(3));
+            }
+
+            PathFindProblem hashed = new HashedPathFindProblem(g, 0, 5);
+            BranchAndBound solver = new BranchAndBound(hashed, 50);
+            solver.setFrontierSearch(true);
+
+            check(solver.solve(hashed), 5, "0 -> 1 -> 2 -> 3 -> 4 -> 5", "Symmetric twins, seed " + seed);
+        }
+    }
+
+    /**
+     * In frontier search mode, the search used to go back and forth forever when the goal is unreachable.
+     */
+    private static void checkUnreachableGoal() {
+        DirectedGraph g = new DirectedGraph(4);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 1, 1);
+
+        PathFindProblem problem = new PathFindProblem(g, 0, 3);
+        BranchAndBound solver = new BranchAndBound(problem, 100);
+        solver.setFrontierSearch(true);
+
+        Node<Integer, Integer> solution = solver.solve(problem);
+        if (solution.getPathCost() != Double.POSITIVE_INFINITY) {
+            throw new IllegalStateException("Unreachable goal: found " + solution.fullPathString());
+        }
+    }
+
+    private static void check(Node<Integer, Integer> solution, double cost, String path, String name) {
+        if (solution.getPathCost() != cost || !solution.pathString().equals(path)) {
+            throw new IllegalStateException(name + ": found " + solution.fullPathString());
+        }
+    }
+
+    /**
+     * A path finding problem whose states are hashed by their vertex modulo 100,
+     * so vertices 100 apart share a hash.
+     */
+    private static class HashedPathFindProblem extends PathFindProblem implements StateHasher<Integer, Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        HashedPathFindProblem(DirectedGraph g, int from, int to) {
+            super(g, from, to);
+        }
+
+        @Override
+        public long stateHash(Integer state) {
+            return state % 100;
+        }
+    }
+}
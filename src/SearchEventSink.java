@@ -0,0 +1,52 @@
+/**
+ * Receives the events of a search, such as the Java Flight Recorder events.
+ * Every search gets its own sink, used only by the search thread. All the methods do nothing by default.
+ */
+interface SearchEventSink {
+
+    /*
+     * The sink used when no event is recorded
+     */
+    SearchEventSink NONE = new SearchEventSink() {
+    };
+
+    /**
+     * Called when a batch of explored nodes starts.
+     */
+    default void batchStarted() {
+    }
+
+    /**
+     * Called when a batch of explored nodes ends.
+     *
+     * @param solver     The name of the solver running the search
+     * @param explored   Number of nodes explored in the batch
+     * @param generated  Number of nodes generated in the batch
+     * @param pruned     Number of generated nodes discarded because of the bound
+     * @param duplicates Number of generated nodes discarded because their state had already been visited
+     */
+    default void batchEnded(String solver, int explored, int generated, int pruned, int duplicates) {
+    }
+
+    /**
+     * Called with the state of the fringe at the end of a batch.
+     *
+     * @param solver     The name of the solver running the search
+     * @param fringeSize Number of nodes in the fringe
+     * @param lowestCost The path cost of the cheapest node in the fringe, NaN if it's empty
+     * @param bound      The current bound
+     */
+    default void fringeSampled(String solver, int fringeSize, double lowestCost, double bound) {
+    }
+
+    /**
+     * Called when a better solution has been found.
+     *
+     * @param solver        The name of the solver running the search
+     * @param previousBound The bound before the solution was found
+     * @param bound         The cost of the solution
+     * @param exploredNodes Number of nodes explored so far
+     */
+    default void boundImproved(String solver, double previousBound, double bound, long exploredNodes) {
+    }
+}
@@ -0,0 +1,272 @@
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live telemetry of a single search.
+ * <p>
+ * The search reports every explored, generated, pruned and duplicate node. The counters are only published
+ * once every {@link #BATCH_SIZE} explored nodes, or once every {@link #PUBLISH_INTERVAL_NANOS} if the nodes
+ * are explored slowly, as Java Flight Recorder events and, if monitoring is enabled,
+ * through a {@link SolveProgressMBean} registered in the platform MBean server for the duration of the search.
+ * Bound improvements are rare, so they are recorded as soon as they happen.
+ * <p>
+ * The Flight Recorder events are recorded by {@code JfrSearchEventSink}, which is compiled separately from the
+ * solver and loaded by name: if it's missing, or the runtime has no jdk.jfr module, no event is recorded.
+ */
+class SearchTelemetry implements AutoCloseable {
+
+    /*
+     * Number of explored nodes between two publications of the counters
+     */
+    static final int BATCH_SIZE = 4096;
+
+    /*
+     * Maximum time between two publications of the counters, checked once every CLOCK_INTERVAL explored nodes
+     */
+    static final long PUBLISH_INTERVAL_NANOS = 1000000000L;
+    static final int CLOCK_INTERVAL = 64;
+
+    /*
+     * Used to give every monitored search a unique MBean name
+     */
+    private static final AtomicInteger ids = new AtomicInteger();
+
+    /*
+     * The Flight Recorder sink, null if it's not available
+     */
+    private static final Class<? extends SearchEventSink> jfrSink = findJfrSink();
+
+    private final String solver;
+    private final long start = System.nanoTime();
+
+    /*
+     * When the counters were last published
+     */
+    private long lastPublish = start;
+
+    /*
+     * The JMX view of the search, null if monitoring is disabled
+     */
+    private final SolveProgress progress;
+    private ObjectName name;
+
+    /*
+     * The sink of the events of the search
+     */
+    private final SearchEventSink events = newEventSink();
+
+    /*
+     * Counters of the current batch
+     */
+    private int explored = 0;
+    private int generated = 0;
+    private int pruned = 0;
+    private int duplicates = 0;
+
+    private long totalExplored = 0;
+
+    /*
+     * The last bound reported
+     */
+    private double bound;
+
+    /**
+     * Constructor for the telemetry of a search.
+     *
+     * @param solver  The name of the solver running the search
+     * @param bound   The initial bound
+     * @param monitor True to register a SolveProgressMBean while the search runs
+     */
+    SearchTelemetry(String solver, double bound, boolean monitor) {
+        this.solver = solver;
+        this.bound = bound;
+        this.progress = monitor ? new SolveProgress() : null;
+
+        if (progress != null) {
+            progress.bound = bound;
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                name = new ObjectName("BranchAndBound:type=SolveProgress,solver=" + solver + ",id=" + ids.incrementAndGet());
+                server.registerMBean(new StandardMBean(progress, SolveProgressMBean.class), name);
+            } catch (Exception e) {
+                throw new RuntimeException("Could not register the progress MBean", e);
+            }
+        }
+
+        events.batchStarted();
+    }
+
+    /**
+     * Report an explored node.
+     *
+     * @param fringeSize Size of the fringe after the node has been removed
+     * @param lowest     The cheapest node in the fringe, or null if it's empty
+     * @param bound      The current bound
+     */
+    void explored(int fringeSize, Node<?, ?> lowest, double bound) {
+        if (++explored == BATCH_SIZE
+                || explored % CLOCK_INTERVAL == 0 && System.nanoTime() - lastPublish >= PUBLISH_INTERVAL_NANOS) {
+            publish(fringeSize, lowest, bound);
+        }
+    }
+
+    /**
+     * Report a node generated by an expansion.
+     */
+    void generated() {
+        generated++;
+    }
+
+    /**
+     * Report a generated node discarded because of the bound.
+     */
+    void pruned() {
+        pruned++;
+    }
+
+    /**
+     * Report a generated node discarded because its state has already been visited.
+     */
+    void duplicate() {
+        duplicates++;
+    }
+
+    /**
+     * Report a new best solution.
+     */
+    void boundImproved(double previousBound, double bound) {
+        this.bound = bound;
+        events.boundImproved(solver, previousBound, bound, totalExplored + explored);
+
+        if (progress != null) {
+            progress.bound = bound;
+        }
+    }
+
+    /**
+     * Publish the counters of the current batch and start a new one.
+     */
+    private void publish(int fringeSize, Node<?, ?> lowest, double bound) {
+        this.bound = bound;
+        double lowestCost = lowest == null ? Double.NaN : lowest.getPathCost();
+
+        events.batchEnded(solver, explored, generated, pruned, duplicates);
+        events.fringeSampled(solver, fringeSize, lowestCost, bound);
+
+        totalExplored += explored;
+        lastPublish = System.nanoTime();
+
+        if (progress != null) {
+            progress.exploredNodes = totalExplored;
+            progress.generatedNodes += generated;
+            progress.duplicateNodes += duplicates;
+            progress.fringeSize = fringeSize;
+            progress.lowestFringePathCost = lowestCost;
+            progress.bound = bound;
+            progress.elapsedNanos = lastPublish - start;
+        }
+
+        explored = 0;
+        generated = 0;
+        pruned = 0;
+        duplicates = 0;
+        events.batchStarted();
+    }
+
+    /**
+     * Publish the last, partial batch and unregister the MBean.
+     */
+    @Override
+    public void close() {
+        if (explored > 0) {
+            publish(0, null, bound);
+        }
+
+        if (name != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            } catch (Exception e) {
+                // Already unregistered
+            }
+        }
+    }
+
+    /**
+     * Return the class of the Flight Recorder sink, or null if it's not in the classpath or jdk.jfr is missing.
+     */
+    private static Class<? extends SearchEventSink> findJfrSink() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return Class.forName("JfrSearchEventSink").asSubclass(SearchEventSink.class);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Return a new Flight Recorder sink if it's available, a sink that ignores the events otherwise.
+     */
+    private static SearchEventSink newEventSink() {
+        if (jfrSink != null) {
+            try {
+                return jfrSink.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall back to no events
+            }
+        }
+        return SearchEventSink.NONE;
+    }
+
+    /**
+     * Implementation of the JMX view of a search. It's written by the search thread and read by JMX clients.
+     */
+    static class SolveProgress implements SolveProgressMBean {
+        volatile long exploredNodes = 0;
+        volatile long generatedNodes = 0;
+        volatile long duplicateNodes = 0;
+        volatile int fringeSize = 0;
+        volatile double lowestFringePathCost = Double.NaN;
+        volatile double bound = Double.POSITIVE_INFINITY;
+        volatile long elapsedNanos = 0;
+
+        @Override
+        public long getExploredNodes() {
+            return exploredNodes;
+        }
+
+        @Override
+        public double getNodesPerSecond() {
+            long elapsed = elapsedNanos;
+            return elapsed == 0 ? 0 : exploredNodes / (elapsed / 1e9);
+        }
+
+        @Override
+        public double getBound() {
+            return bound;
+        }
+
+        @Override
+        public double getLowestFringePathCost() {
+            return lowestFringePathCost;
+        }
+
+        @Override
+        public int getFringeSize() {
+            return fringeSize;
+        }
+
+        @Override
+        public double getDuplicateRate() {
+            long generated = generatedNodes;
+            return generated == 0 ? 0 : (double) duplicateNodes / generated;
+        }
+
+        @Override
+        public long getElapsedMillis() {
+            return elapsedNanos / 1000000;
+        }
+    }
+}
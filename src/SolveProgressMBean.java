@@ -0,0 +1,43 @@
+/**
+ * JMX view of the progress of a search that is running.
+ * A search registers it only if monitoring is enabled, and the values are updated once per batch of explored nodes,
+ * or at least once per second.
+ */
+public interface SolveProgressMBean {
+
+    /**
+     * Return the number of nodes explored so far.
+     */
+    long getExploredNodes();
+
+    /**
+     * Return the average number of nodes explored per second.
+     */
+    double getNodesPerSecond();
+
+    /**
+     * Return the cost of the best solution found so far.
+     */
+    double getBound();
+
+    /**
+     * Return the lowest path cost (g) among the nodes in the fringe, which is ordered by path cost.
+     * It's not the lowest f = g + heuristic: that one would require a scan of the whole fringe at every update.
+     */
+    double getLowestFringePathCost();
+
+    /**
+     * Return the number of nodes in the fringe.
+     */
+    int getFringeSize();
+
+    /**
+     * Return the fraction of the generated nodes discarded because their state had already been visited.
+     */
+    double getDuplicateRate();
+
+    /**
+     * Return the time elapsed since the search started.
+     */
+    long getElapsedMillis();
+}
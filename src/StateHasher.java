@@ -0,0 +1,32 @@
+/**
+ * Implemented by the problems that provide 64-bit state hashes.
+ * Solvers then detect duplicate states by comparing hashes only, without calling equals,
+ * so the hash must be practically collision free (e.g. a Zobrist hash).
+ * Symmetric states must have the same hash, since {@link Problem#canonical} is not applied to hashed states.
+ *
+ * @param <Action> The type representing an action.
+ * @param <State>  The type representing a state.
+ */
+public interface StateHasher<Action, State> {
+
+    /**
+     * Return the 64-bit hash of a state.
+     * @param state The state to hash
+     * @return the hash of the state.
+     */
+    long stateHash(State state);
+
+    /**
+     * Return the 64-bit hash of state "to", reached from state "from" through a certain action.
+     * Override to update the hash of the previous state incrementally, e.g. by xor-ing out the Zobrist keys
+     * of the components changed by the action and xor-ing in the new ones, instead of hashing the whole state.
+     * @param previousHash  The hash of state "from"
+     * @param from          The first state
+     * @param action        The action required to go from state "from" to state "to"
+     * @param to            The final state
+     * @return the hash of state "to".
+     */
+    default long stateHash(long previousHash, State from, Action action, State to) {
+        return stateHash(to);
+    }
+}
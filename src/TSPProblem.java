@@ -0,0 +1,203 @@
+import java.io.*;
+import java.util.*;
+
+/**
+ * Asymmetric travelling salesman problem: visit every city exactly once, starting and ending at city 0,
+ * with the cheapest tour. The cost from city i to city j can differ from the cost from j to i.
+ * An action is the next city to visit. At most 64 cities are supported.
+ */
+public class TSPProblem extends Problem<Integer, TSPProblem.Tour> {
+
+    private static final long serialVersionUID = 1L;
+
+    /*
+     * cost[i][j] is the cost of going from city i to city j
+     */
+    private final double[][] cost;
+
+    /*
+     * Bitmask of all the cities
+     */
+    private final long all;
+
+    public TSPProblem(double[][] cost) {
+        super(new Tour(0, 1L), null);
+
+        if (cost.length < 2 || cost.length > 64) {
+            throw new IllegalArgumentException("The number of cities must be between 2 and 64");
+        }
+
+        this.cost = cost;
+        this.all = cost.length == 64 ? -1L : (1L << cost.length) - 1;
+    }
+
+    /**
+     * Generate an instance with random costs between 1 and 1000.
+     *
+     * @param cities The number of cities
+     * @param seed   The seed of the generator, the same seed gives the same instance
+     */
+    public static TSPProblem random(int cities, long seed) {
+        Random random = new Random(seed);
+        double[][] cost = new double[cities][cities];
+
+        for (int i = 0; i < cities; i++) {
+            for (int j = 0; j < cities; j++) {
+                cost[i][j] = i == j ? 0 : 1 + random.nextInt(1000);
+            }
+        }
+
+        return new TSPProblem(cost);
+    }
+
+    /**
+     * Load an instance in the TSPLIB format. Only explicit weights in FULL_MATRIX format are supported,
+     * which is the format of the ATSP instances of the library.
+     *
+     * @param file The file to load
+     */
+    public static TSPProblem load(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            int dimension = -1;
+            String line;
+
+            // Header, made of "KEY : VALUE" lines
+            while ((line = reader.readLine()) != null && !line.trim().startsWith("EDGE_WEIGHT_SECTION")) {
+                String[] entry = line.split(":", 2);
+                if (entry.length < 2) {
+                    continue;
+                }
+
+                String key = entry[0].trim();
+                String value = entry[1].trim();
+
+                if (key.equals("DIMENSION")) {
+                    dimension = Integer.parseInt(value);
+                } else if (key.equals("EDGE_WEIGHT_TYPE") && !value.equals("EXPLICIT")
+                        || key.equals("EDGE_WEIGHT_FORMAT") && !value.equals("FULL_MATRIX")) {
+                    throw new IllegalArgumentException("Unsupported " + key + ": " + value);
+                }
+            }
+
+            if (line == null || dimension < 0) {
+                throw new IllegalArgumentException("Missing DIMENSION or EDGE_WEIGHT_SECTION");
+            }
+
+            double[][] cost = new double[dimension][dimension];
+            Scanner scanner = new Scanner(reader);
+            for (int i = 0; i < dimension; i++) {
+                for (int j = 0; j < dimension; j++) {
+                    // The diagonal often holds a large placeholder instead of 0
+                    double weight = Double.parseDouble(scanner.next());
+                    cost[i][j] = i == j ? 0 : weight;
+                }
+            }
+
+            return new TSPProblem(cost);
+        }
+    }
+
+    @Override
+    public boolean isGoal(Tour tour) {
+        return tour.visited == all && tour.city == 0;
+    }
+
+    @Override
+    public Pair<Integer, Tour>[] expand(Tour tour) {
+        List<Pair<Integer, Tour>> next = new ArrayList<>();
+
+        if (tour.visited == all) {
+            // Every city has been visited, go back to the first one
+            if (tour.city != 0) {
+                next.add(new Pair<>(0, new Tour(0, all)));
+            }
+        } else {
+            for (int j = 0; j < cost.length; j++) {
+                if ((tour.visited & (1L << j)) == 0) {
+                    next.add(new Pair<>(j, new Tour(j, tour.visited | (1L << j))));
+                }
+            }
+        }
+
+        return next.toArray(new Pair[0]);
+    }
+
+    @Override
+    public double pathCost(double previousCost, Tour from, Integer city, Tour to) {
+        return previousCost + cost[from.city][to.city];
+    }
+
+    /**
+     * Every city that still has to be left, the current one and the unvisited ones, is left exactly once
+     * towards an unvisited city or towards the first city: the sum of the cheapest of those edges is a lower bound.
+     */
+    @Override
+    public double heuristic(Tour tour) {
+        if (isGoal(tour)) {
+            return 0;
+        }
+
+        long targets = ~tour.visited & all | 1L;
+        double bound = cheapestEdge(tour.city, targets);
+
+        for (int i = 1; i < cost.length; i++) {
+            if ((tour.visited & (1L << i)) == 0) {
+                bound += cheapestEdge(i, targets);
+            }
+        }
+
+        return bound;
+    }
+
+    private double cheapestEdge(int from, long targets) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < cost.length; j++) {
+            if (j != from && (targets & (1L << j)) != 0) {
+                min = Math.min(min, cost[from][j]);
+            }
+        }
+        return min;
+    }
+
+    /**
+     * The number of cities
+     */
+    public int size() {
+        return cost.length;
+    }
+
+    /**
+     * A partial tour: the current city and the set of visited cities.
+     */
+    public static class Tour implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        public final int city;
+        public final long visited;
+
+        public Tour(int city, long visited) {
+            this.city = city;
+            this.visited = visited;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Tour tour = (Tour) o;
+
+            return city == tour.city && visited == tour.visited;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * city + Long.hashCode(visited);
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(city);
+        }
+    }
+}